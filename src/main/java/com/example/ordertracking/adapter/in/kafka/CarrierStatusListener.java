@@ -0,0 +1,77 @@
+package com.example.ordertracking.adapter.in.kafka;
+
+import com.example.ordertracking.application.port.in.OrderStatusUpdateResult;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusCommand;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.carrier-status", name = "enabled", havingValue = "true")
+public class CarrierStatusListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CarrierStatusListener.class);
+
+    private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
+    private final DeadLetterPublishingRecoverer carrierStatusDeadLetterRecoverer;
+    private final MeterRegistry meterRegistry;
+
+
+    // Records keep their partition order, and updateStatuses applies repeated order ids in sequence.
+    @KafkaListener(id = "carrier-status", topics = "${app.carrier-status.topic}",
+            containerFactory = "carrierStatusListenerContainerFactory", batch = "true")
+    public void onCarrierStatuses(List<ConsumerRecord<String, CarrierStatusMessage>> records) {
+        List<ConsumerRecord<String, CarrierStatusMessage>> accepted = new ArrayList<>(records.size());
+        for (ConsumerRecord<String, CarrierStatusMessage> record : records) {
+            CarrierStatusMessage message = record.value();
+            if (message == null || message.orderId() == null || message.orderId().isBlank() || message.status() == null) {
+                reject(record, "Unreadable carrier status message at offset " + record.offset(), "MALFORMED");
+            } else {
+                accepted.add(record);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<UpdateOrderStatusCommand> commands = accepted.stream()
+                .map(record -> new UpdateOrderStatusCommand(record.value().orderId(), record.value().status(), noteOf(record.value())))
+                .toList();
+        List<OrderStatusUpdateResult> results = updateOrderStatusUseCase.updateStatuses(commands);
+        for (int i = 0; i < results.size(); i++) {
+            OrderStatusUpdateResult result = results.get(i);
+            if (result.outcome() == OrderStatusUpdateResult.Outcome.APPLIED) {
+                meterRegistry.counter("carrier.status.updates", "outcome", result.outcome().name()).increment();
+            } else {
+                reject(accepted.get(i), result.error(), result.outcome().name());
+            }
+        }
+    }
+
+    private void reject(ConsumerRecord<String, CarrierStatusMessage> record, String reason, String outcome) {
+        meterRegistry.counter("carrier.status.updates", "outcome", outcome).increment();
+        // The batch's applied scans are already committed: a DLT failure must not throw and get the batch redelivered.
+        try {
+            carrierStatusDeadLetterRecoverer.accept(record, new CarrierStatusRejectedException(reason));
+        } catch (RuntimeException e) {
+            meterRegistry.counter("carrier.status.dead-letter.failures").increment();
+            log.error("Could not dead-letter carrier status at {}-{}@{} ({}): {}", record.topic(), record.partition(),
+                    record.offset(), reason, e.toString());
+        }
+    }
+
+    private String noteOf(CarrierStatusMessage message) {
+        return message.note() == null || message.note().isBlank() ? "Carrier scan" : message.note();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.ordertracking.adapter.in.kafka;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+public record CarrierStatusMessage(
+        String orderId,
+        OrderStatus status,
+        String note
+) {
+}
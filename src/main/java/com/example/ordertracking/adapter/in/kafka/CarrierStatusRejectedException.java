@@ -0,0 +1,8 @@
+package com.example.ordertracking.adapter.in.kafka;
+
+public class CarrierStatusRejectedException extends RuntimeException {
+
+    public CarrierStatusRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ordertracking.adapter.in.kafka;
+
+import com.example.ordertracking.adapter.in.rest.OrderStatusPushHub;
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Objects;
+
+// Every instance reads the whole status topic, whichever publication mode produced it, and pushes to its own SSE clients.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.orders.push", name = "enabled", havingValue = "true")
+public class OrderStatusPushListener {
+
+    private final OrderStatusPushHub hub;
+
+
+    @KafkaListener(id = "order-status-push", topics = "${app.kafka.order-status-topic}",
+            containerFactory = "orderStatusPushListenerContainerFactory", batch = "true")
+    public void onStatusChanged(List<OrderStatusChangedEvent> events) {
+        // Undecodable records arrive as null from the error-handling deserializer and are skipped.
+        hub.broadcast(events.stream().filter(Objects::nonNull).toList());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.in.rest.dto.AccessTokenResponse;
+import com.example.ordertracking.config.AccessTokenIssuer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/api/auth")
+@RequiredArgsConstructor
+public class AccessTokenController {
+
+    private final AccessTokenIssuer accessTokenIssuer;
+
+
+    // Clients pay the password hash once here, then send the token as a bearer until it expires.
+    @PostMapping("/token")
+    public AccessTokenResponse token(Authentication authentication) {
+        if (!accessTokenIssuer.enabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Access tokens are disabled until app.security.token.secret is set");
+        }
+        // A token must not mint its successor, otherwise it would outlive a password change indefinitely.
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access tokens are only issued against Basic credentials");
+        }
+        return new AccessTokenResponse(accessTokenIssuer.issue(authentication).getTokenValue(), "Bearer",
+                accessTokenIssuer.ttl().toSeconds());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Sheds /api requests before they reach security, controllers or Mongo. Each endpoint class has its own adaptive
+// concurrency limit, and reads and searches are refused first while writes are close to theirs.
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public enum EndpointClass {
+        WRITE, READ, SEARCH
+    }
+
+    private final Map<EndpointClass, AimdLimiter> limiters;
+    private final double writePriorityThreshold;
+    private final String retryAfterSeconds;
+    private final MeterRegistry meterRegistry;
+
+    public record Limit(int initial, int min, int max, Duration latencyThreshold) {
+    }
+
+    public AdmissionControlFilter(Map<EndpointClass, Limit> limits,
+                                  double backoffRatio,
+                                  double writePriorityThreshold,
+                                  Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.limiters = new EnumMap<>(EndpointClass.class);
+        limits.forEach((endpointClass, limit) -> limiters.put(endpointClass, new AimdLimiter(
+                limit.initial(), limit.min(), limit.max(), limit.latencyThreshold().toNanos(), backoffRatio)));
+        this.writePriorityThreshold = writePriorityThreshold;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+        this.meterRegistry = meterRegistry;
+        this.limiters.forEach((endpointClass, limiter) -> {
+            String tag = endpointClass.name().toLowerCase();
+            meterRegistry.gauge("order.admission.limit", Tags.of("class", tag), limiter, AimdLimiter::limit);
+            meterRegistry.gauge("order.admission.in.flight", Tags.of("class", tag), limiter, AimdLimiter::inFlight);
+        });
+    }
+
+    AimdLimiter limiter(EndpointClass endpointClass) {
+        return limiters.get(endpointClass);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return classify(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(request);
+        AimdLimiter limiter = limiters.get(endpointClass);
+        boolean yieldsToWrites = endpointClass != EndpointClass.WRITE
+                && limiters.get(EndpointClass.WRITE).utilization() >= writePriorityThreshold;
+        if (yieldsToWrites || !limiter.tryAcquire()) {
+            reject(endpointClass, limiter, response);
+            return;
+        }
+
+        // Exports keep their slot while streaming, but their duration says nothing about backend latency.
+        boolean sampled = !request.getRequestURI().endsWith("/export");
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(limiter, start, sampled));
+            } else {
+                limiter.release(System.nanoTime() - start, failed || response.getStatus() >= 500, sampled);
+            }
+        }
+    }
+
+    // Overload alone answers 429; once slow or failing calls have cut the limit, the backend is degraded and it is 503.
+    private void reject(EndpointClass endpointClass, AimdLimiter limiter, HttpServletResponse response) throws IOException {
+        HttpStatus status = limiter.degraded() ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.TOO_MANY_REQUESTS;
+        meterRegistry.counter("order.admission.rejected", "class", endpointClass.name().toLowerCase(),
+                "status", Integer.toString(status.value())).increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.getWriter().write("{\"title\":\"Service saturated\",\"status\":" + status.value()
+                + ",\"detail\":\"Too many concurrent " + endpointClass.name().toLowerCase() + " requests\"}");
+    }
+
+    // Long-lived push streams are bounded by the push hub itself and stay outside admission control.
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/") || path.endsWith("/events")) {
+            return null;
+        }
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return path.startsWith("/api/auth/") ? EndpointClass.READ : EndpointClass.WRITE;
+        }
+        if (path.matches("/api/(reactive/)?orders/?") || path.endsWith("/export")) {
+            return EndpointClass.SEARCH;
+        }
+        return EndpointClass.READ;
+    }
+
+    private record ReleaseOnCompletion(AimdLimiter limiter, long start, boolean sampled, AtomicBoolean released)
+            implements AsyncListener {
+
+        ReleaseOnCompletion(AimdLimiter limiter, long start, boolean sampled) {
+            this(limiter, start, sampled, new AtomicBoolean());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(response != null && response.getStatus() >= 500);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start, failed, sampled);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that grows by about one per window of successful calls and shrinks by a ratio when a call
+// is slow or fails, at most once per latency threshold so a burst of slow calls counts as one signal.
+final class AimdLimiter {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecrease;
+
+    AimdLimiter(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.lastDecrease = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > (int) limit) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    // Unsampled releases (long-lived streams) free the slot without moving the limit.
+    void release(long latencyNanos, boolean failed, boolean sampled) {
+        int before = inFlight.getAndDecrement();
+        if (!sampled) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                if (now - lastDecrease >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecrease = now;
+                }
+            } else if (before * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+        }
+    }
+
+    int limit() {
+        return (int) limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    double utilization() {
+        return inFlight.get() / limit;
+    }
+
+    // Below its starting point the limit has been cut by slow or failing calls, not just by demand.
+    boolean degraded() {
+        return limit < initialLimit;
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.http.ProblemDetail;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
@@ -23,4 +25,12 @@ public class ApiExceptionHandler {
         problem.setDetail(ex.getMessage());
         return problem;
     }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ProblemDetail handleSaturation(RejectedExecutionException ex) {
+        ProblemDetail problem = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+        problem.setTitle("Service saturated");
+        problem.setDetail(ex.getMessage());
+        return problem;
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+// An export holds its thread for as long as the client keeps reading, so exports get their own pool:
+// no queue, an export beyond max-concurrent is refused (503) instead of waiting behind the others.
+// Not exposed as an Executor bean, which would make Boot drop the shared applicationTaskExecutor.
+@Component
+public class OrderExportExecutor {
+
+    private final AsyncTaskExecutor executor;
+
+    @Autowired
+    public OrderExportExecutor(@Value("${app.orders.export.max-concurrent:4}") int maxConcurrent) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(maxConcurrent);
+        pool.setMaxPoolSize(maxConcurrent);
+        pool.setQueueCapacity(0);
+        pool.setThreadNamePrefix("order-export-");
+        pool.initialize();
+        this.executor = pool;
+    }
+
+    OrderExportExecutor(AsyncTaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    AsyncTaskExecutor executor() {
+        return executor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+}
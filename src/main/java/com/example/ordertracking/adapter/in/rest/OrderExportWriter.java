@@ -0,0 +1,96 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.in.rest.dto.OrderSummaryResponse;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Rows are written as the cursor yields them, so memory stays flat whatever the size of the export.
+// A slow client blocks the write, which in turn stops the cursor from fetching the next batch.
+@Component
+@RequiredArgsConstructor
+public class OrderExportWriter {
+
+    private static final String CSV_HEADER = "id,customerId,status,createdAt,updatedAt\n";
+
+    private final ObjectMapper objectMapper;
+    private final OrderRestMapper mapper;
+
+    public void write(Stream<OrderSummary> rows, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        Iterator<OrderSummary> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            OrderSummaryResponse row = mapper.toSummaryResponse(iterator.next());
+            if (format == Format.CSV) {
+                writeCsv(writer, row);
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Writer writer, OrderSummaryResponse row) throws IOException {
+        writer.write(csv(row.id()));
+        writer.write(',');
+        writer.write(csv(row.customerId()));
+        writer.write(',');
+        writer.write(csv(row.status()));
+        writer.write(',');
+        writer.write(csv(row.createdAt()));
+        writer.write(',');
+        writer.write(csv(row.updatedAt()));
+        writer.write('\n');
+    }
+
+    private static String csv(Instant value) {
+        return value == null ? "" : value.toString();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+}
@@ -1,10 +1,24 @@
 package com.example.ordertracking.adapter.in.rest;
 
 import com.example.ordertracking.adapter.in.rest.dto.OrderResponse;
+import com.example.ordertracking.adapter.in.rest.dto.OrderStatsResponse;
+import com.example.ordertracking.adapter.in.rest.dto.OrderSummaryResponse;
+import com.example.ordertracking.adapter.in.rest.dto.OrderTransitionBucketResponse;
+import com.example.ordertracking.adapter.in.rest.dto.RegisterOrderBatchItemResponse;
 import com.example.ordertracking.adapter.in.rest.dto.TrackingEventResponse;
+import com.example.ordertracking.adapter.in.rest.dto.UpdateOrderStatusBatchItemResponse;
+import com.example.ordertracking.application.port.in.OrderRegistrationResult;
+import com.example.ordertracking.application.port.in.OrderStatusUpdateResult;
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStats;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.example.ordertracking.domain.model.TrackingEvent;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 public class OrderRestMapper {
 
@@ -15,7 +29,55 @@ public class OrderRestMapper {
                 order.status().name(),
                 order.createdAt(),
                 order.updatedAt(),
-                order.history().stream().map(e -> new TrackingEventResponse(e.status(), e.occurredAt(), e.note())).toList()
+                order.history().stream().map(this::toResponse).toList()
+        );
+    }
+
+    public TrackingEventResponse toResponse(TrackingEvent event) {
+        return new TrackingEventResponse(event.status(), event.occurredAt(), event.note());
+    }
+
+    public OrderSummaryResponse toSummaryResponse(OrderSummary summary) {
+        return new OrderSummaryResponse(
+                summary.id(),
+                summary.customerId(),
+                summary.status().name(),
+                summary.createdAt(),
+                summary.updatedAt()
+        );
+    }
+
+    public RegisterOrderBatchItemResponse toResponse(OrderRegistrationResult result) {
+        return switch (result.outcome()) {
+            case CREATED -> new RegisterOrderBatchItemResponse(result.orderId(), result.outcome().name(), toResponse(result.order()), null);
+            case DUPLICATE -> new RegisterOrderBatchItemResponse(result.orderId(), result.outcome().name(), null,
+                    "Order already exists: " + result.orderId());
+        };
+    }
+
+    public UpdateOrderStatusBatchItemResponse toResponse(OrderStatusUpdateResult result) {
+        return new UpdateOrderStatusBatchItemResponse(
+                result.orderId(),
+                result.outcome().name(),
+                result.status() == null ? null : result.status().name(),
+                result.error()
+        );
+    }
+
+    public OrderStatsResponse toResponse(OrderStats stats) {
+        return new OrderStatsResponse(
+                byName(stats.countsByStatus()),
+                stats.total(),
+                stats.transitionsPerHour().stream()
+                        .map(bucket -> new OrderTransitionBucketResponse(bucket.hour(), byName(bucket.countsByTarget())))
+                        .toList(),
+                stats.reconciledAt()
         );
     }
+
+    private Map<String, Long> byName(Map<OrderStatus, Long> counts) {
+        Map<String, Long> byName = new LinkedHashMap<>();
+        counts.forEach((status, count) -> byName.put(status.name(), count));
+        return byName;
+    }
 }
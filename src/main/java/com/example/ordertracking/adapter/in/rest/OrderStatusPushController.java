@@ -0,0 +1,44 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.application.port.in.TrackOrderUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.orders.push", name = "enabled", havingValue = "true")
+public class OrderStatusPushController {
+
+    private final TrackOrderUseCase trackOrderUseCase;
+    private final OrderStatusPushHub hub;
+
+
+    // The revision lookup answers 404 for unknown orders before a connection is held open.
+    @GetMapping(path = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter orderEvents(@PathVariable String id) {
+        trackOrderUseCase.getRevision(id);
+        return hub.subscribeToOrder(id);
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestParam(required = false) String customerId,
+                             @RequestParam(required = false) List<String> status) {
+        Set<String> statuses = status == null ? Set.of() : status.stream()
+                .map(OrderTrackingController::normalizeStatus)
+                .filter(value -> value != null)
+                .collect(Collectors.toUnmodifiableSet());
+        return hub.subscribe(customerId == null || customerId.isBlank() ? null : customerId, statuses);
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+// Fans status events out to SSE clients. Subscribers hold no thread: each one owns a bounded frame queue
+// drained by a dispatcher task, and a client whose queue is full is disconnected rather than buffered.
+// Socket writes block, so drains do not share a fixed pool and a write stuck past write-timeout drops its
+// client: a client that stops reading holds only its own drain thread, and not for long. Platform threads,
+// not virtual ones: SseEmitter.send is synchronized and would pin the carrier for the whole blocked write.
+@Component
+@ConditionalOnProperty(prefix = "app.orders.push", name = "enabled", havingValue = "true")
+public class OrderStatusPushHub {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatusPushHub.class);
+
+    private final Map<String, Set<OrderStatusSubscriber>> byOrder = new ConcurrentHashMap<>();
+    private final Set<OrderStatusSubscriber> firehose = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final Executor dispatcher;
+    private final int maxSubscribers;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutNanos;
+    private final Counter sent;
+    private final Counter slowEvicted;
+    private final Counter disconnected;
+    private final Counter stuckEvicted;
+    private final Counter rejected;
+
+    @Autowired
+    public OrderStatusPushHub(ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.orders.push.max-subscribers:10000}") int maxSubscribers,
+                              @Value("${app.orders.push.buffer-size:64}") int bufferSize,
+                              @Value("${app.orders.push.timeout:PT30M}") Duration timeout,
+                              @Value("${app.orders.push.write-timeout:PT10S}") Duration writeTimeout) {
+        this(objectMapper, meterRegistry, maxSubscribers, bufferSize, timeout, writeTimeout,
+                Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable, "order-status-push");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    OrderStatusPushHub(ObjectMapper objectMapper, MeterRegistry meterRegistry, int maxSubscribers, int bufferSize,
+                       Duration timeout, Duration writeTimeout, Executor dispatcher) {
+        this.objectMapper = objectMapper;
+        this.dispatcher = dispatcher;
+        this.maxSubscribers = maxSubscribers;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.sent = meterRegistry.counter("order.push.sent");
+        this.slowEvicted = meterRegistry.counter("order.push.evicted", "reason", "slow");
+        this.disconnected = meterRegistry.counter("order.push.evicted", "reason", "disconnected");
+        this.stuckEvicted = meterRegistry.counter("order.push.evicted", "reason", "stuck");
+        this.rejected = meterRegistry.counter("order.push.rejected");
+        meterRegistry.gauge("order.push.subscribers", subscribers);
+    }
+
+    public SseEmitter subscribeToOrder(String orderId) {
+        OrderStatusSubscriber subscriber = register(orderId, event -> true);
+        byOrder.compute(orderId, (id, current) -> {
+            Set<OrderStatusSubscriber> members = current == null ? ConcurrentHashMap.newKeySet() : current;
+            members.add(subscriber);
+            return members;
+        });
+        return greet(subscriber);
+    }
+
+    public SseEmitter subscribe(String customerId, Set<String> statuses) {
+        Predicate<OrderStatusChangedEvent> filter = event ->
+                (customerId == null || customerId.equals(event.customerId()))
+                        && (statuses.isEmpty() || statuses.contains(event.status()));
+        OrderStatusSubscriber subscriber = register(null, filter);
+        firehose.add(subscriber);
+        return greet(subscriber);
+    }
+
+    // Each event is encoded once, then only queued per subscriber; sockets are written by the dispatcher.
+    public void broadcast(List<OrderStatusChangedEvent> events) {
+        for (OrderStatusChangedEvent event : events) {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = null;
+            Set<OrderStatusSubscriber> followers = byOrder.getOrDefault(event.orderId(), Set.of());
+            for (OrderStatusSubscriber subscriber : followers) {
+                frame = frame == null ? encode(event) : frame;
+                deliver(subscriber, frame);
+            }
+            for (OrderStatusSubscriber subscriber : firehose) {
+                if (subscriber.accepts(event)) {
+                    frame = frame == null ? encode(event) : frame;
+                    deliver(subscriber, frame);
+                }
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and surfaces clients that went away without closing.
+    @Scheduled(fixedRateString = "${app.orders.push.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("heartbeat").build();
+        byOrder.values().forEach(followers -> followers.forEach(subscriber -> deliver(subscriber, frame)));
+        firehose.forEach(subscriber -> deliver(subscriber, frame));
+    }
+
+    // Completing the emitter does not wait for the blocked write; the container then aborts the response.
+    @Scheduled(fixedDelayString = "${app.orders.push.write-check-interval:PT1S}")
+    public void evictStuckWriters() {
+        long now = System.nanoTime();
+        byOrder.values().forEach(followers -> followers.forEach(subscriber -> evictIfStuck(subscriber, now)));
+        firehose.forEach(subscriber -> evictIfStuck(subscriber, now));
+    }
+
+    int subscriberCount() {
+        return subscribers.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        byOrder.values().forEach(followers -> followers.forEach(subscriber -> close(subscriber, null)));
+        firehose.forEach(subscriber -> close(subscriber, null));
+        if (dispatcher instanceof ExecutorService executor) {
+            executor.shutdown();
+        }
+    }
+
+    private OrderStatusSubscriber register(String orderId, Predicate<OrderStatusChangedEvent> filter) {
+        if (subscribers.incrementAndGet() > maxSubscribers) {
+            subscribers.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException("Too many order status subscribers on this instance");
+        }
+        OrderStatusSubscriber subscriber = new OrderStatusSubscriber(newEmitter(timeoutMillis), orderId, filter, bufferSize);
+        subscriber.emitter().onCompletion(() -> unregister(subscriber));
+        subscriber.emitter().onTimeout(() -> unregister(subscriber));
+        subscriber.emitter().onError(ex -> unregister(subscriber));
+        return subscriber;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    // The first frame flushes the response headers, so clients see the stream as open right away.
+    private SseEmitter greet(OrderStatusSubscriber subscriber) {
+        deliver(subscriber, SseEmitter.event().comment("subscribed").build());
+        return subscriber.emitter();
+    }
+
+    private void deliver(OrderStatusSubscriber subscriber, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (!subscriber.offer(frame)) {
+            slowEvicted.increment();
+            close(subscriber, null);
+            return;
+        }
+        sent.increment();
+        if (subscriber.claimDrain()) {
+            try {
+                dispatcher.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException ex) {
+                close(subscriber, ex);
+            }
+        }
+    }
+
+    private void drain(OrderStatusSubscriber subscriber) {
+        try {
+            subscriber.drain();
+        } catch (IOException | IllegalStateException ex) {
+            disconnected.increment();
+            close(subscriber, ex);
+        }
+    }
+
+    private void evictIfStuck(OrderStatusSubscriber subscriber, long now) {
+        if (subscriber.writingLongerThan(writeTimeoutNanos, now)) {
+            stuckEvicted.increment();
+            close(subscriber, new TimeoutException("SSE write blocked for more than " + Duration.ofNanos(writeTimeoutNanos)));
+        }
+    }
+
+    private void close(OrderStatusSubscriber subscriber, Throwable cause) {
+        if (unregister(subscriber)) {
+            if (cause == null) {
+                subscriber.emitter().complete();
+            } else {
+                subscriber.emitter().completeWithError(cause);
+            }
+        }
+    }
+
+    private boolean unregister(OrderStatusSubscriber subscriber) {
+        if (!subscriber.close()) {
+            return false;
+        }
+        if (subscriber.orderId() == null) {
+            firehose.remove(subscriber);
+        } else {
+            byOrder.computeIfPresent(subscriber.orderId(), (id, followers) -> {
+                followers.remove(subscriber);
+                return followers.isEmpty() ? null : followers;
+            });
+        }
+        subscribers.decrementAndGet();
+        return true;
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> encode(OrderStatusChangedEvent event) {
+        try {
+            String id = event.orderId() + ":" + (event.updatedAt() == null ? 0 : event.updatedAt().toEpochMilli());
+            return SseEmitter.event().id(id).name("status").data(objectMapper.writeValueAsString(event)).build();
+        } catch (JsonProcessingException ex) {
+            log.warn("Cannot encode status event for order {}", event.orderId(), ex);
+            return SseEmitter.event().comment("skipped").build();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEvent;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+// One SSE client: a bounded queue of encoded frames, drained by at most one dispatcher task at a time.
+final class OrderStatusSubscriber {
+
+    private final SseEmitter emitter;
+    private final String orderId;
+    private final Predicate<OrderStatusChangedEvent> filter;
+    private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> frames;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long writeStartedAt;
+
+    OrderStatusSubscriber(SseEmitter emitter, String orderId, Predicate<OrderStatusChangedEvent> filter, int bufferSize) {
+        this.emitter = emitter;
+        this.orderId = orderId;
+        this.filter = filter;
+        this.frames = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    String orderId() {
+        return orderId;
+    }
+
+    boolean accepts(OrderStatusChangedEvent event) {
+        return filter.test(event);
+    }
+
+    boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        return frames.offer(frame);
+    }
+
+    boolean claimDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    // Re-checks the queue after releasing the claim so a frame offered meanwhile is never stranded.
+    void drain() throws IOException {
+        do {
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            while (!closed.get() && (frame = frames.poll()) != null) {
+                writeStartedAt = System.nanoTime();
+                try {
+                    emitter.send(frame);
+                } finally {
+                    writeStartedAt = 0;
+                }
+            }
+            draining.set(false);
+        } while (!closed.get() && !frames.isEmpty() && claimDrain());
+    }
+
+    boolean writingLongerThan(long nanos, long now) {
+        long started = writeStartedAt;
+        return started != 0 && now - started > nanos;
+    }
+
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        frames.clear();
+        return true;
+    }
+}
@@ -1,17 +1,37 @@
 package com.example.ordertracking.adapter.in.rest;
 
 import com.example.ordertracking.adapter.in.rest.dto.OrderResponse;
+import com.example.ordertracking.adapter.in.rest.dto.OrderStatsResponse;
+import com.example.ordertracking.adapter.in.rest.dto.RegisterOrderBatchItemResponse;
+import com.example.ordertracking.adapter.in.rest.dto.RegisterOrderBatchRequest;
 import com.example.ordertracking.adapter.in.rest.dto.RegisterOrderRequest;
+import com.example.ordertracking.adapter.in.rest.dto.TrackingEventResponse;
+import com.example.ordertracking.adapter.in.rest.dto.UpdateOrderStatusBatchItemResponse;
+import com.example.ordertracking.adapter.in.rest.dto.UpdateOrderStatusBatchRequest;
 import com.example.ordertracking.adapter.in.rest.dto.UpdateOrderStatusRequest;
 import com.example.ordertracking.application.port.in.ListOrdersUseCase;
+import com.example.ordertracking.application.port.in.OrderPage;
+import com.example.ordertracking.application.port.in.OrderStatsUseCase;
+import com.example.ordertracking.application.port.in.RegisterOrderCommand;
 import com.example.ordertracking.application.port.in.RegisterOrderUseCase;
+import com.example.ordertracking.application.port.in.TrackOrderHistoryUseCase;
 import com.example.ordertracking.application.port.in.TrackOrderUseCase;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusCommand;
 import com.example.ordertracking.application.port.in.UpdateOrderStatusUseCase;
 import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -21,20 +41,34 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderTrackingController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final RegisterOrderUseCase registerOrderUseCase;
     private final TrackOrderUseCase trackOrderUseCase;
     private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
     private final ListOrdersUseCase listOrdersUseCase;
+    private final TrackOrderHistoryUseCase trackOrderHistoryUseCase;
+    private final OrderStatsUseCase orderStatsUseCase;
     private final OrderRestMapper mapper;
+    private final OrderExportWriter exportWriter;
+    private final TerminalOrderResponseCache responseCache;
+    private final OrderExportExecutor exportExecutor;
+    @Value("${app.orders.export.timeout:PT30M}")
+    private Duration exportTimeout;
 
 
     @PostMapping
@@ -43,26 +77,113 @@ public class OrderTrackingController {
         return mapper.toResponse(registerOrderUseCase.register(request.orderId(), request.customerId()));
     }
 
+    @PostMapping("/batch")
+    public List<RegisterOrderBatchItemResponse> registerBatch(@Valid @RequestBody RegisterOrderBatchRequest request) {
+        List<RegisterOrderCommand> commands = request.orders().stream()
+                .map(order -> new RegisterOrderCommand(order.orderId(), order.customerId()))
+                .toList();
+        return registerOrderUseCase.registerAll(commands).stream().map(mapper::toResponse).toList();
+    }
+
+    // Pollers revalidate with If-None-Match / If-Modified-Since; an unchanged order costs a revision lookup and a 304.
+    // Unconditional requests skip that lookup and load the order once. Terminal orders are answered from their
+    // cached bytes, conditional or not, without any lookup.
     @GetMapping("/{id}")
-    public OrderResponse track(@PathVariable String id) {
-        return mapper.toResponse(trackOrderUseCase.getById(id));
+    public ResponseEntity<?> track(@PathVariable String id, WebRequest request) {
+        TerminalOrderResponseCache.CachedResponse cached = responseCache.get(id);
+        if (cached != null) {
+            return request.checkNotModified(cached.etag(), cached.lastModified().toEpochMilli()) ? null : cachedResponse(cached);
+        }
+        if (isConditional(request)) {
+            OrderRevision revision = trackOrderUseCase.getRevision(id);
+            if (request.checkNotModified(etagOf(revision), revision.updatedAt().toEpochMilli())) {
+                return null;
+            }
+        }
+        Order order = trackOrderUseCase.getById(id);
+        cached = responseCache.putIfTerminal(order);
+        if (cached != null) {
+            return cachedResponse(cached);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etagOf(order.revision()))
+                .lastModified(order.updatedAt())
+                .body(mapper.toResponse(order));
+    }
+
+    private boolean isConditional(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    // Served from materialized counters: a constant number of reads, whatever the number of orders.
+    @GetMapping("/stats")
+    public OrderStatsResponse stats(@RequestParam(defaultValue = "24") int hours) {
+        return mapper.toResponse(orderStatsUseCase.getStats(hours));
+    }
+
+    @GetMapping("/{id}/history")
+    public List<TrackingEventResponse> history(@PathVariable String id,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "50") int size) {
+        if (page < 0 || size <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "History page must be >= 0 and size > 0");
+        }
+        return trackOrderHistoryUseCase.getHistory(id, page, size).stream().map(mapper::toResponse).toList();
     }
 
     @GetMapping
-    public List<OrderResponse> list(@RequestParam(required = false) String orderId,
-                                    @RequestParam(required = false) String customerId,
-                                    @RequestParam(required = false) String status,
-                                    @RequestParam(required = false) String updatedFrom,
-                                    @RequestParam(required = false) String updatedTo,
-                                    @RequestParam(defaultValue = "0") int page,
-                                    @RequestParam(defaultValue = "50") int size,
-                                    @RequestParam(defaultValue = "updatedAt") String sortBy,
-                                    @RequestParam(defaultValue = "desc") String sortDir) {
+    public ResponseEntity<List<?>> list(@RequestParam(required = false) String orderId,
+                                        @RequestParam(required = false) String customerId,
+                                        @RequestParam(required = false) String status,
+                                        @RequestParam(required = false) String updatedFrom,
+                                        @RequestParam(required = false) String updatedTo,
+                                        @RequestParam(defaultValue = "0") int page,
+                                        @RequestParam(defaultValue = "50") int size,
+                                        @RequestParam(defaultValue = "updatedAt") String sortBy,
+                                        @RequestParam(defaultValue = "desc") String sortDir,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = "false") boolean includeHistory) {
         String normalizedStatus = normalizeStatus(status);
         Instant from = parseInstant(updatedFrom);
         Instant to = parseInstant(updatedTo);
-        OrderSearchQuery query = new OrderSearchQuery(orderId, customerId, normalizedStatus, from, to, page, size, sortBy, sortDir);
-        return listOrdersUseCase.listOrders(query).stream().map(mapper::toResponse).toList();
+        OrderSearchQuery query = new OrderSearchQuery(orderId, customerId, normalizedStatus, from, to, page, size, sortBy, sortDir, cursor);
+        if (includeHistory) {
+            OrderPage<Order> result = listOrdersUseCase.listOrderPage(query);
+            return page(result.nextCursor(), result.items().stream().map(mapper::toResponse).toList());
+        }
+        OrderPage<OrderSummary> result = listOrdersUseCase.listOrderSummaryPage(query);
+        return page(result.nextCursor(), result.items().stream().map(mapper::toSummaryResponse).toList());
+    }
+
+    // Same filters as the list endpoint, without paging: every match is streamed from one Mongo cursor.
+    // Runs on the export pool with its own timeout, leaving the shared async executor and timeout alone.
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(@RequestParam(required = false) String orderId,
+                                     @RequestParam(required = false) String customerId,
+                                     @RequestParam(required = false) String status,
+                                     @RequestParam(required = false) String updatedFrom,
+                                     @RequestParam(required = false) String updatedTo,
+                                     @RequestParam(defaultValue = "updatedAt") String sortBy,
+                                     @RequestParam(defaultValue = "desc") String sortDir,
+                                     @RequestParam(defaultValue = "ndjson") String format,
+                                     HttpServletResponse response) {
+        OrderExportWriter.Format exportFormat = switch (format.toLowerCase()) {
+            case "ndjson" -> OrderExportWriter.Format.NDJSON;
+            case "csv" -> OrderExportWriter.Format.CSV;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + format);
+        };
+        OrderSearchQuery query = new OrderSearchQuery(orderId, customerId, normalizeStatus(status), parseInstant(updatedFrom),
+                parseInstant(updatedTo), 0, 0, sortBy, sortDir);
+        response.setContentType(exportFormat.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + exportFormat.extension() + "\"");
+        return new WebAsyncTask<>(exportTimeout.toMillis(), exportExecutor.executor(), () -> {
+            try (Stream<OrderSummary> rows = listOrdersUseCase.streamOrderSummaries(query)) {
+                exportWriter.write(rows, exportFormat, response.getOutputStream());
+            }
+            response.flushBuffer();
+            return null;
+        });
     }
 
     @PutMapping("/{id}/status")
@@ -70,7 +191,36 @@ public class OrderTrackingController {
         return mapper.toResponse(updateOrderStatusUseCase.updateStatus(id, request.status(), request.note()));
     }
 
-    private String normalizeStatus(String status) {
+    @PutMapping("/batch/status")
+    public List<UpdateOrderStatusBatchItemResponse> updateStatusBatch(@Valid @RequestBody UpdateOrderStatusBatchRequest request) {
+        List<UpdateOrderStatusCommand> commands = request.updates().stream()
+                .map(update -> new UpdateOrderStatusCommand(update.orderId(), update.status(), update.note()))
+                .toList();
+        return updateOrderStatusUseCase.updateStatuses(commands).stream().map(mapper::toResponse).toList();
+    }
+
+    private ResponseEntity<byte[]> cachedResponse(TerminalOrderResponseCache.CachedResponse cached) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(cached.etag())
+                .lastModified(cached.lastModified())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(cached.body());
+    }
+
+    private ResponseEntity<List<?>> page(String nextCursor, List<?> body) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(body);
+    }
+
+    static String etagOf(OrderRevision revision) {
+        return "\"" + revision.version() + "-" + revision.updatedAt().toEpochMilli() + "\"";
+    }
+
+    static String normalizeStatus(String status) {
         if (status == null || status.isBlank()) {
             return null;
         }
@@ -79,7 +229,7 @@ public class OrderTrackingController {
         return normalized;
     }
 
-    private Instant parseInstant(String value) {
+    static Instant parseInstant(String value) {
         if (value == null || value.isBlank()) {
             return null;
         }
@@ -0,0 +1,75 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.in.rest.dto.OrderResponse;
+import com.example.ordertracking.adapter.in.rest.dto.OrderSummaryResponse;
+import com.example.ordertracking.adapter.in.rest.dto.RegisterOrderRequest;
+import com.example.ordertracking.adapter.in.rest.dto.UpdateOrderStatusRequest;
+import com.example.ordertracking.application.port.in.ReactiveOrderTrackingUseCase;
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Non-blocking variant of the tracking endpoints: the servlet thread is released while Mongo and Kafka answer.
+@RestController
+@RequestMapping("/api/reactive/orders")
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveOrderTrackingController {
+
+    private final ReactiveOrderTrackingUseCase useCase;
+    private final OrderRestMapper mapper;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<OrderResponse> register(@Valid @RequestBody RegisterOrderRequest request) {
+        return useCase.register(request.orderId(), request.customerId()).map(mapper::toResponse);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<OrderResponse> track(@PathVariable String id) {
+        return useCase.getById(id).map(mapper::toResponse);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<List<OrderSummaryResponse>>> list(@RequestParam(required = false) String orderId,
+                                                                 @RequestParam(required = false) String customerId,
+                                                                 @RequestParam(required = false) String status,
+                                                                 @RequestParam(required = false) String updatedFrom,
+                                                                 @RequestParam(required = false) String updatedTo,
+                                                                 @RequestParam(defaultValue = "0") int page,
+                                                                 @RequestParam(defaultValue = "50") int size,
+                                                                 @RequestParam(defaultValue = "updatedAt") String sortBy,
+                                                                 @RequestParam(defaultValue = "desc") String sortDir,
+                                                                 @RequestParam(required = false) String cursor) {
+        OrderSearchQuery query = new OrderSearchQuery(orderId, customerId, OrderTrackingController.normalizeStatus(status),
+                OrderTrackingController.parseInstant(updatedFrom), OrderTrackingController.parseInstant(updatedTo),
+                page, size, sortBy, sortDir, cursor);
+        return useCase.listOrderSummaryPage(query).map(result -> {
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.nextCursor() != null) {
+                response.header(OrderTrackingController.NEXT_CURSOR_HEADER, result.nextCursor());
+            }
+            return response.body(result.items().stream().map(mapper::toSummaryResponse).toList());
+        });
+    }
+
+    @PutMapping("/{id}/status")
+    public Mono<OrderResponse> updateStatus(@PathVariable String id, @Valid @RequestBody UpdateOrderStatusRequest request) {
+        return useCase.updateStatus(id, request.status(), request.note()).map(mapper::toResponse);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.domain.model.Order;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+
+// DELIVERED and CANCELLED orders accept no further transition, so their JSON body, ETag and Last-Modified
+// can be kept as written and replayed without touching Mongo. Bounded by the size of the bodies, not by count.
+@Component
+public class TerminalOrderResponseCache {
+
+    // Entry overhead beyond the body: key, record, header values and cache node.
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final OrderRestMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedResponse> responses;
+
+    public TerminalOrderResponseCache(OrderRestMapper mapper,
+                                      ObjectMapper objectMapper,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.orders.response-cache.enabled:false}") boolean enabled,
+                                      @Value("${app.orders.response-cache.maximum-bytes:67108864}") long maximumBytes,
+                                      @Value("${app.orders.response-cache.ttl:PT24H}") Duration ttl) {
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.responses = enabled ? Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((String id, CachedResponse response) -> response.body().length + id.length() + ENTRY_OVERHEAD_BYTES)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build() : null;
+        if (responses != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, responses, "order-responses");
+            meterRegistry.gauge("order.response.cache.weighted.bytes", responses,
+                    cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L));
+        }
+    }
+
+    public CachedResponse get(String orderId) {
+        return responses == null ? null : responses.getIfPresent(orderId);
+    }
+
+    // Returns null for orders that can still change; those are serialized per request as before.
+    public CachedResponse putIfTerminal(Order order) {
+        if (responses == null || !order.status().isTerminal()) {
+            return null;
+        }
+        CachedResponse response = new CachedResponse(serialize(order), OrderTrackingController.etagOf(order.revision()), order.updatedAt());
+        responses.put(order.id(), response);
+        return response;
+    }
+
+    private byte[] serialize(Order order) {
+        try {
+            return objectMapper.writeValueAsBytes(mapper.toResponse(order));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public record CachedResponse(byte[] body, String etag, Instant lastModified) {
+    }
+}
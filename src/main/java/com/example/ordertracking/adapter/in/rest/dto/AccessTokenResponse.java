@@ -0,0 +1,10 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record AccessTokenResponse(
+        @JsonProperty("access_token") String accessToken,
+        @JsonProperty("token_type") String tokenType,
+        @JsonProperty("expires_in") long expiresIn
+) {
+}
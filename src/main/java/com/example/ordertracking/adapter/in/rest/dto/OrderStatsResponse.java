@@ -0,0 +1,13 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record OrderStatsResponse(
+        Map<String, Long> statusCounts,
+        long total,
+        List<OrderTransitionBucketResponse> transitionsPerHour,
+        Instant reconciledAt
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+import java.time.Instant;
+
+public record OrderSummaryResponse(
+        String id,
+        String customerId,
+        String status,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+public record OrderTransitionBucketResponse(
+        Instant hour,
+        Map<String, Long> counts
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+public record RegisterOrderBatchItemResponse(
+        String orderId,
+        String outcome,
+        OrderResponse order,
+        String error
+) {
+}
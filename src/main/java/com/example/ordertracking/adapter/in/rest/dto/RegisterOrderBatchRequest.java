@@ -0,0 +1,13 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record RegisterOrderBatchRequest(
+        @NotEmpty @Size(max = 1000) List<@Valid @NotNull RegisterOrderRequest> orders
+) {
+}
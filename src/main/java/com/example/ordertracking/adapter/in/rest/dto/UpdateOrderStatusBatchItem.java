@@ -0,0 +1,12 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+public record UpdateOrderStatusBatchItem(
+        @NotBlank String orderId,
+        @NotNull OrderStatus status,
+        @NotBlank String note
+) {
+}
@@ -0,0 +1,9 @@
+package com.example.ordertracking.adapter.in.rest.dto;
+
+public record UpdateOrderStatusBatchItemResponse(
+        String orderId,
+        String outcome,
+        String status,
+        String error
+) {
+}
@@ -0,0 +1,31 @@
+package com.example.ordertracking.adapter.out.cache;
+
+import com.example.ordertracking.adapter.out.mongo.ReactiveOrderMongoAdapter;
+import com.example.ordertracking.application.port.out.ReactiveTransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
+import com.example.ordertracking.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Reactive transitions write to Mongo directly; evicting once they end keeps the blocking read cache
+// from serving the previous status until its TTL.
+@Component
+@Primary
+@ConditionalOnExpression("${app.orders.cache.enabled:false} and ${app.reactive.enabled:false}")
+@RequiredArgsConstructor
+public class CacheEvictingReactiveOrderAdapter implements ReactiveTransitionOrderStatusPort {
+
+    private final ReactiveOrderMongoAdapter delegate;
+    private final CachingOrderAdapter cache;
+
+    @Override
+    public Mono<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note) {
+        return delegate.transition(orderId, target, at, note)
+                .doFinally(signal -> cache.evict(orderId));
+    }
+}
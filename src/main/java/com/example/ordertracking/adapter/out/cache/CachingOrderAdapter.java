@@ -0,0 +1,129 @@
+package com.example.ordertracking.adapter.out.cache;
+
+import com.example.ordertracking.adapter.out.mongo.OrderMongoAdapter;
+import com.example.ordertracking.application.port.out.LoadOrderPort;
+import com.example.ordertracking.application.port.out.LoadOrderRevisionPort;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
+import com.example.ordertracking.application.port.out.SaveOrderPort;
+import com.example.ordertracking.application.port.out.TransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "app.orders.cache", name = "enabled", havingValue = "true")
+public class CachingOrderAdapter implements LoadOrderPort, SaveOrderPort, TransitionOrderStatusPort, LoadOrderRevisionPort {
+
+    private final OrderMongoAdapter delegate;
+    private final Cache<String, Order> orders;
+
+    public CachingOrderAdapter(OrderMongoAdapter delegate,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.orders.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${app.orders.cache.ttl:PT30S}") Duration ttl,
+                               @Value("${app.orders.cache.terminal-ttl:PT1H}") Duration terminalTtl) {
+        this.delegate = delegate;
+        this.orders = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new StatusAwareExpiry(ttl, terminalTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, orders, "orders");
+    }
+
+    @Override
+    public Optional<Order> findById(String orderId) {
+        Order cached = orders.getIfPresent(orderId);
+        if (cached != null) {
+            return Optional.of(copyOf(cached));
+        }
+        // putIfAbsent keeps a concurrent write's fresher entry over this possibly older read.
+        return delegate.findById(orderId).map(order -> {
+            orders.asMap().putIfAbsent(orderId, copyOf(order));
+            return order;
+        });
+    }
+
+    // A cached order answers conditional requests without a round trip; a miss only reads the revision fields.
+    @Override
+    public Optional<OrderRevision> findRevision(String orderId) {
+        Order cached = orders.getIfPresent(orderId);
+        return cached != null ? Optional.of(cached.revision()) : delegate.findRevision(orderId);
+    }
+
+    // Writes that do not go through this adapter, such as the reactive ones, evict what they changed.
+    public void evict(String orderId) {
+        orders.invalidate(orderId);
+    }
+
+    @Override
+    public Order save(Order order) {
+        orders.invalidate(order.id());
+        Order saved = delegate.save(order);
+        orders.put(saved.id(), copyOf(saved));
+        return saved;
+    }
+
+    @Override
+    public List<Order> insertAll(List<Order> newOrders) {
+        return delegate.insertAll(newOrders);
+    }
+
+    @Override
+    public Optional<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note) {
+        orders.invalidate(orderId);
+        Optional<TransitionedOrder> transitioned = delegate.transition(orderId, target, at, note);
+        transitioned.ifPresent(result -> orders.put(orderId, copyOf(result.order())));
+        return transitioned;
+    }
+
+    @Override
+    public List<OrderStatusTransition> transitionAll(List<OrderStatusTransition> transitions) {
+        List<String> orderIds = transitions.stream().map(OrderStatusTransition::orderId).distinct().toList();
+        orders.invalidateAll(orderIds);
+        try {
+            return delegate.transitionAll(transitions);
+        } finally {
+            orders.invalidateAll(orderIds);
+        }
+    }
+
+    private static Order copyOf(Order order) {
+        return order.toBuilder().history(new ArrayList<>(order.history())).build();
+    }
+
+    private record StatusAwareExpiry(Duration ttl, Duration terminalTtl) implements Expiry<String, Order> {
+
+        @Override
+        public long expireAfterCreate(String orderId, Order order, long currentTime) {
+            return (order.status().isTerminal() ? terminalTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String orderId, Order order, long currentTime, long currentDuration) {
+            return expireAfterCreate(orderId, order, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String orderId, Order order, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ordertracking.adapter.out.changestream;
+
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+final class OrderChangeEvents {
+
+    private static final String UPDATED_FIELDS = "updateDescription.updatedFields";
+
+    private OrderChangeEvents() {
+    }
+
+    // Only inserts, replacements and updates touching the status reach the application, trimmed to the fields we read.
+    static List<Bson> pipeline() {
+        return List.of(
+                Aggregates.match(Filters.or(
+                        Filters.in("operationType", "insert", "replace"),
+                        Filters.and(Filters.eq("operationType", "update"), Filters.exists(UPDATED_FIELDS + ".status")))),
+                Aggregates.project(Projections.include(
+                        "operationType", "documentKey",
+                        "fullDocument.customerId", "fullDocument.status", "fullDocument.updatedAt",
+                        UPDATED_FIELDS + ".status", UPDATED_FIELDS + ".updatedAt")));
+    }
+
+    // Status and timestamp come from the change itself; the looked-up document only supplies the immutable customer id.
+    static Optional<Order> toOrder(Document event) {
+        Document key = event.get("documentKey", Document.class);
+        Document fullDocument = event.get("fullDocument", Document.class);
+        Document changed = fullDocument;
+        if ("update".equals(event.getString("operationType"))) {
+            Document description = event.get("updateDescription", Document.class);
+            changed = description == null ? null : description.get("updatedFields", Document.class);
+        }
+        if (key == null || changed == null || changed.getString("status") == null) {
+            return Optional.empty();
+        }
+        Date updatedAt = changed.getDate("updatedAt");
+        return Optional.of(Order.of(
+                key.getString("_id"),
+                fullDocument == null ? null : fullDocument.getString("customerId"),
+                OrderStatus.valueOf(changed.getString("status")),
+                null,
+                updatedAt == null ? null : updatedAt.toInstant(),
+                List.of()));
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.ordertracking.adapter.out.changestream;
+
+import com.example.ordertracking.adapter.out.kafka.KafkaOrderEventPublisher;
+import com.example.ordertracking.adapter.out.mongo.ChangeStreamCheckpointStore;
+import com.example.ordertracking.adapter.out.mongo.OrderDocument;
+import com.example.ordertracking.domain.model.Order;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.changestream.FullDocument;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Tails the orders collection and publishes every status change, whichever code path wrote it.
+// Delivery is at-least-once: the resume token is only checkpointed after Kafka acknowledged the batch.
+@Component
+@ConditionalOnProperty(prefix = "app.events", name = "publication-mode", havingValue = "change-stream")
+public class OrderChangeStreamPublisher implements SmartLifecycle {
+
+    static final String STREAM = "orders";
+    // ChangeStreamHistoryLost and ChangeStreamFatalError: the token fell off the oplog and cannot be resumed.
+    private static final Set<Integer> UNRESUMABLE = Set.of(280, 286);
+
+    private static final Logger log = LoggerFactory.getLogger(OrderChangeStreamPublisher.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ChangeStreamCheckpointStore checkpointStore;
+    private final KafkaOrderEventPublisher publisher;
+    private final int batchSize;
+    private final Duration maxAwait;
+    private final Duration leaseTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter published;
+    private final Counter errors;
+    private final Counter historyLost;
+    private volatile boolean running;
+    private Thread worker;
+
+    public OrderChangeStreamPublisher(MongoTemplate mongoTemplate,
+                                      ChangeStreamCheckpointStore checkpointStore,
+                                      KafkaOrderEventPublisher publisher,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.events.change-stream.batch-size:500}") int batchSize,
+                                      @Value("${app.events.change-stream.max-await:PT0.2S}") Duration maxAwait,
+                                      @Value("${app.events.change-stream.lease-ttl:PT30S}") Duration leaseTtl) {
+        this.mongoTemplate = mongoTemplate;
+        this.checkpointStore = checkpointStore;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.maxAwait = maxAwait;
+        this.leaseTtl = leaseTtl;
+        this.published = meterRegistry.counter("order.changestream.published");
+        this.errors = meterRegistry.counter("order.changestream.errors");
+        this.historyLost = meterRegistry.counter("order.changestream.history.lost");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().name("order-change-stream").daemon().start(this::run);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            worker.join(maxAwait.plusSeconds(5).toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        checkpointStore.release(STREAM, instanceId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (checkpointStore.tryAcquire(STREAM, instanceId, Instant.now(), leaseTtl)) {
+                    tail();
+                } else {
+                    pause(leaseTtl.dividedBy(3));
+                }
+            } catch (MongoCommandException ex) {
+                if (UNRESUMABLE.contains(ex.getErrorCode())) {
+                    log.error("Change stream on {} cannot resume, restarting from now; events in between are lost", STREAM, ex);
+                    historyLost.increment();
+                    checkpointStore.resetResumeToken(STREAM, instanceId);
+                } else {
+                    failed(ex);
+                }
+            } catch (RuntimeException ex) {
+                failed(ex);
+            }
+        }
+    }
+
+    // Only the lease holder tails; the lease is renewed with every checkpoint and on every idle await.
+    private void tail() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getCollection(mongoTemplate.getCollectionName(OrderDocument.class))
+                .watch(OrderChangeEvents.pipeline())
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .batchSize(batchSize)
+                .maxAwaitTime(maxAwait.toMillis(), TimeUnit.MILLISECONDS);
+        checkpointStore.resumeToken(STREAM).ifPresent(token ->
+                stream.resumeAfter(token.toBsonDocument(Document.class, MongoClientSettings.getDefaultCodecRegistry())));
+
+        try (MongoCursor<Document> cursor = stream.withDocumentClass(Document.class).cursor()) {
+            List<Order> batch = new ArrayList<>();
+            Document resumeToken = null;
+            Instant renewAt = Instant.now();
+            while (running) {
+                Document event = cursor.tryNext();
+                if (event != null) {
+                    OrderChangeEvents.toOrder(event).ifPresent(batch::add);
+                    resumeToken = event.get("_id", Document.class);
+                    if (batch.size() < batchSize) {
+                        continue;
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    publisher.publishStatusChanged(batch);
+                    published.increment(batch.size());
+                    batch = new ArrayList<>();
+                }
+                Instant now = Instant.now();
+                if (resumeToken != null || !now.isBefore(renewAt)) {
+                    if (!checkpointStore.checkpoint(STREAM, instanceId, resumeToken, now, leaseTtl)) {
+                        log.warn("Lost the change stream lease on {}", STREAM);
+                        return;
+                    }
+                    resumeToken = null;
+                    renewAt = now.plus(leaseTtl.dividedBy(3));
+                }
+            }
+        }
+    }
+
+    private void failed(RuntimeException ex) {
+        log.warn("Change stream on {} failed, resuming from the last checkpoint", STREAM, ex);
+        errors.increment();
+        pause(Duration.ofSeconds(1));
+    }
+
+    private void pause(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
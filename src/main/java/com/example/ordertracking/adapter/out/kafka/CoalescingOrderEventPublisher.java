@@ -0,0 +1,99 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import com.example.ordertracking.application.port.out.PublishOrderEventPort;
+import com.example.ordertracking.domain.model.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Holds status events per order for one window and only sends the latest state of each order.
+@Component
+@Primary
+@ConditionalOnExpression("${app.events.coalescing.enabled:false} and '${app.events.publication-mode:inline}' == 'inline'")
+public class CoalescingOrderEventPublisher implements PublishOrderEventPort {
+
+    private static final Logger log = LoggerFactory.getLogger(CoalescingOrderEventPublisher.class);
+
+    private final KafkaOrderEventPublisher delegate;
+    private final Map<String, Order> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "order-event-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter received;
+    private final Counter coalesced;
+
+    public CoalescingOrderEventPublisher(KafkaOrderEventPublisher delegate,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${app.events.coalescing.window:PT0.05S}") Duration window) {
+        this.delegate = delegate;
+        this.received = meterRegistry.counter("order.events.coalescing.received");
+        this.coalesced = meterRegistry.counter("order.events.coalescing.superseded");
+        meterRegistry.gauge("order.events.coalescing.pending", pending, Map::size);
+        flusher.scheduleWithFixedDelay(this::flushSafely, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void publishStatusChanged(Order order) {
+        received.increment();
+        pending.merge(order.id(), order, (held, next) -> {
+            coalesced.increment();
+            return next.updatedAt().isBefore(held.updatedAt()) ? held : next;
+        });
+    }
+
+    @Override
+    public void publishStatusChanged(List<Order> orders) {
+        orders.forEach(this::publishStatusChanged);
+    }
+
+    @Override
+    public void ensureCapacity(int events) {
+        delegate.ensureCapacity(events);
+    }
+
+    // Each order is removed before it is sent, so a newer state always goes out in a later, sequential flush.
+    void flush() {
+        List<Order> batch = new ArrayList<>(pending.size());
+        for (String orderId : pending.keySet()) {
+            Order order = pending.remove(orderId);
+            if (order != null) {
+                batch.add(order);
+            }
+        }
+        if (!batch.isEmpty()) {
+            delegate.publishStatusChanged(batch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(5, TimeUnit.SECONDS);
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to flush coalesced order events", ex);
+        }
+    }
+}
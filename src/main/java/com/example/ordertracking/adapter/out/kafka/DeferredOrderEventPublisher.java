@@ -0,0 +1,24 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import com.example.ordertracking.application.port.out.PublishOrderEventPort;
+import com.example.ordertracking.domain.model.Order;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Outside inline mode events are derived from the order writes themselves, by the outbox relay or the change stream.
+@Component
+@Primary
+@ConditionalOnExpression("'${app.events.publication-mode:inline}' != 'inline'")
+public class DeferredOrderEventPublisher implements PublishOrderEventPort {
+
+    @Override
+    public void publishStatusChanged(Order order) {
+    }
+
+    @Override
+    public void publishStatusChanged(List<Order> orders) {
+    }
+}
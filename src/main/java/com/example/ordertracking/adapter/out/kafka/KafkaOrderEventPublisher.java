@@ -2,27 +2,230 @@ package com.example.ordertracking.adapter.out.kafka;
 
 import com.example.ordertracking.application.port.out.PublishOrderEventPort;
 import com.example.ordertracking.domain.model.Order;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
 @Component
-@RequiredArgsConstructor
 public class KafkaOrderEventPublisher implements PublishOrderEventPort {
 
+    private static final Logger log = LoggerFactory.getLogger(KafkaOrderEventPublisher.class);
+
     private final KafkaTemplate<String, OrderStatusChangedEvent> kafkaTemplate;
-    @Value("${app.kafka.order-status-topic:order.status.changed}")
-    private String topic;
+    private final String topic;
+    private final int maxInFlight;
+    private final OverflowPolicy overflowPolicy;
+    private final int spillCapacity;
+    private final Duration acquireTimeout;
+    private final Executor asyncExecutor;
+    private final Semaphore inFlight;
+    private final Queue<PendingSend> spill = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger spilled = new AtomicInteger();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+    private final Counter errors;
+    private final Counter rejected;
+
+    public KafkaOrderEventPublisher(KafkaTemplate<String, OrderStatusChangedEvent> kafkaTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.kafka.order-status-topic:order.status.changed}") String topic,
+                                    @Value("${app.kafka.publisher.max-in-flight:1000}") int maxInFlight,
+                                    @Value("${app.kafka.publisher.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                    @Value("${app.kafka.publisher.spill-capacity:100000}") int spillCapacity,
+                                    @Value("${app.kafka.publisher.acquire-timeout:PT5S}") Duration acquireTimeout,
+                                    @Qualifier("applicationTaskExecutor") Executor asyncExecutor) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.maxInFlight = maxInFlight;
+        this.overflowPolicy = overflowPolicy;
+        this.spillCapacity = spillCapacity;
+        this.acquireTimeout = acquireTimeout;
+        this.asyncExecutor = asyncExecutor;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.sentTimer = Timer.builder("order.events.publish").tag("topic", topic).tag("outcome", "success").register(meterRegistry);
+        this.failedTimer = Timer.builder("order.events.publish").tag("topic", topic).tag("outcome", "error").register(meterRegistry);
+        this.errors = Counter.builder("order.events.publish.errors").tag("topic", topic).register(meterRegistry);
+        this.rejected = Counter.builder("order.events.publish.rejected").tag("topic", topic).register(meterRegistry);
+        meterRegistry.gauge("order.events.publish.in.flight", inFlight, permits -> maxInFlight - permits.availablePermits());
+        meterRegistry.gauge("order.events.publish.spilled", spilled);
+    }
 
     @Override
     public void publishStatusChanged(Order order) {
-        OrderStatusChangedEvent event = new OrderStatusChangedEvent(
+        publish(toEvent(order));
+    }
+
+    @Override
+    public void publishStatusChanged(List<Order> orders) {
+        CompletableFuture.allOf(orders.stream()
+                .map(order -> publish(toEvent(order)))
+                .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    // FAIL_FAST and SPILL turn callers away here, before the order is written: a 503 then leaves nothing
+    // behind and the client can retry. Once the write has committed, publish must take the event.
+    @Override
+    public void ensureCapacity(int events) {
+        switch (overflowPolicy) {
+            case FAIL_FAST -> {
+                if (inFlight.availablePermits() < Math.min(events, maxInFlight)) {
+                    throw rejected("no send slot available");
+                }
+            }
+            case SPILL -> {
+                if (spilled.get() + events > spillCapacity) {
+                    throw rejected("spill buffer is full");
+                }
+            }
+            case BLOCK -> {
+            }
+        }
+    }
+
+    // Never throws: a send that still finds no room after ensureCapacity (a slot taken by a concurrent write,
+    // or acquire-timeout elapsed) fails its future like any other send failure.
+    CompletableFuture<Void> publish(OrderStatusChangedEvent event) {
+        PendingSend pending = new PendingSend(event, new CompletableFuture<>());
+        if (overflowPolicy == OverflowPolicy.SPILL) {
+            enqueue(pending);
+        } else if (acquire(pending)) {
+            send(pending);
+        }
+        return pending.result();
+    }
+
+    // Spilled sends are dispatched strictly in arrival order so per-order ordering survives the buffer.
+    private void enqueue(PendingSend pending) {
+        if (spilled.incrementAndGet() > spillCapacity) {
+            spilled.decrementAndGet();
+            reject(pending, "spill buffer is full");
+            return;
+        }
+        spill.add(pending);
+        drainSpill();
+    }
+
+    private void drainSpill() {
+        while (!spill.isEmpty() && inFlight.availablePermits() > 0) {
+            if (!drainLock.tryLock()) {
+                return;
+            }
+            try {
+                while (!spill.isEmpty() && inFlight.tryAcquire()) {
+                    PendingSend next = spill.poll();
+                    if (next == null) {
+                        inFlight.release();
+                        break;
+                    }
+                    spilled.decrementAndGet();
+                    send(next);
+                }
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    // Retriable failures are retried by the idempotent producer itself (see KafkaConfig), which keeps the
+    // sends of one order in partition order; a failure that reaches this callback is final.
+    private void send(PendingSend pending) {
+        long start = System.nanoTime();
+        CompletableFuture<?> sent;
+        try {
+            sent = kafkaTemplate.send(topic, pending.event().orderId(), pending.event());
+        } catch (RuntimeException ex) {
+            sent = CompletableFuture.failedFuture(ex);
+        }
+        sent.whenComplete((result, ex) -> {
+            long elapsed = System.nanoTime() - start;
+            if (ex == null) {
+                sentTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                complete(pending, null);
+            } else {
+                failedTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                errors.increment();
+                log.warn("Failed to publish status event for order {}", pending.event().orderId(), ex);
+                complete(pending, ex);
+            }
+        });
+    }
+
+    private void complete(PendingSend pending, Throwable failure) {
+        inFlight.release();
+        if (failure == null) {
+            pending.result().complete(null);
+        } else {
+            pending.result().completeExceptionally(failure);
+        }
+        if (overflowPolicy == OverflowPolicy.SPILL && !spill.isEmpty()) {
+            CompletableFuture.runAsync(this::drainSpill, asyncExecutor);
+        }
+    }
+
+    private boolean acquire(PendingSend pending) {
+        try {
+            if (inFlight.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            reject(pending, "no send slot freed up within " + acquireTimeout);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            reject(pending, "interrupted while waiting for a send slot");
+        }
+        return false;
+    }
+
+    private void reject(PendingSend pending, String reason) {
+        RejectedExecutionException failure = rejected(reason);
+        errors.increment();
+        log.warn("Dropped status event for order {}: {}", pending.event().orderId(), failure.getMessage());
+        pending.result().completeExceptionally(failure);
+    }
+
+    private RejectedExecutionException rejected(String reason) {
+        rejected.increment();
+        return new RejectedExecutionException("Order event publisher saturated (" + maxInFlight + " sends in flight): " + reason);
+    }
+
+    boolean mayBlock() {
+        return overflowPolicy != OverflowPolicy.SPILL;
+    }
+
+    OrderStatusChangedEvent toEvent(Order order) {
+        return new OrderStatusChangedEvent(
                 order.id(),
                 order.customerId(),
                 order.status().name(),
                 order.updatedAt()
         );
-        kafkaTemplate.send(topic, order.id(), event);
+    }
+
+    public enum OverflowPolicy {
+        BLOCK,
+        FAIL_FAST,
+        SPILL
+    }
+
+    private record PendingSend(OrderStatusChangedEvent event, CompletableFuture<Void> result) {
     }
 }
@@ -0,0 +1,113 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Version 1 layout: version byte, status code byte, updatedAt epoch millis (Long.MIN_VALUE when absent),
+// then orderId and customerId, each as a varint of length + 1 (0 for null) followed by its UTF-8 bytes.
+final class OrderStatusChangedEventCodec {
+
+    static final byte VERSION = 1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    // Codes are part of the wire format: append new statuses, never renumber.
+    private static final Map<OrderStatus, Byte> CODES = new EnumMap<>(Map.of(
+            OrderStatus.CREATED, (byte) 1,
+            OrderStatus.PACKED, (byte) 2,
+            OrderStatus.SHIPPED, (byte) 3,
+            OrderStatus.DELIVERED, (byte) 4,
+            OrderStatus.CANCELLED, (byte) 5
+    ));
+    private static final OrderStatus[] STATUSES = new OrderStatus[CODES.size() + 1];
+
+    static {
+        CODES.forEach((status, code) -> STATUSES[code] = status);
+    }
+
+    private OrderStatusChangedEventCodec() {
+    }
+
+    static byte[] encode(OrderStatusChangedEvent event) {
+        byte[] orderId = utf8(event.orderId());
+        byte[] customerId = utf8(event.customerId());
+        ByteBuffer buffer = ByteBuffer.allocate(2 + Long.BYTES + varintSize(orderId) + varintSize(customerId));
+        buffer.put(VERSION);
+        buffer.put(codeOf(event.status()));
+        buffer.putLong(event.updatedAt() == null ? NO_TIMESTAMP : event.updatedAt().toEpochMilli());
+        putString(buffer, orderId);
+        putString(buffer, customerId);
+        return buffer.array();
+    }
+
+    static OrderStatusChangedEvent decode(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported order event format version " + version);
+        }
+        OrderStatus status = statusOf(buffer.get());
+        long updatedAt = buffer.getLong();
+        String orderId = getString(buffer);
+        String customerId = getString(buffer);
+        return new OrderStatusChangedEvent(orderId, customerId, status.name(),
+                updatedAt == NO_TIMESTAMP ? null : Instant.ofEpochMilli(updatedAt));
+    }
+
+    private static byte codeOf(String status) {
+        return CODES.get(OrderStatus.valueOf(status));
+    }
+
+    private static OrderStatus statusOf(byte code) {
+        if (code <= 0 || code >= STATUSES.length || STATUSES[code] == null) {
+            throw new IllegalArgumentException("Unknown order status code " + code);
+        }
+        return STATUSES[code];
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int varintSize(byte[] value) {
+        int length = value == null ? 0 : value.length + 1;
+        int size = 1;
+        while ((length >>>= 7) != 0) {
+            size++;
+        }
+        return size + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        int length = value == null ? 0 : value.length + 1;
+        while ((length & ~0x7F) != 0) {
+            buffer.put((byte) ((length & 0x7F) | 0x80));
+            length >>>= 7;
+        }
+        buffer.put((byte) length);
+        if (value != null) {
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = 0;
+        int shift = 0;
+        byte next;
+        do {
+            next = buffer.get();
+            length |= (next & 0x7F) << shift;
+            shift += 7;
+        } while ((next & 0x80) != 0);
+        if (length == 0) {
+            return null;
+        }
+        byte[] value = new byte[length - 1];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
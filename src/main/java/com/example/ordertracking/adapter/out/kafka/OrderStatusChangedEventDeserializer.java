@@ -0,0 +1,19 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+public class OrderStatusChangedEventDeserializer implements Deserializer<OrderStatusChangedEvent> {
+
+    @Override
+    public OrderStatusChangedEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return OrderStatusChangedEventCodec.decode(data);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot decode order event from " + topic, ex);
+        }
+    }
+}
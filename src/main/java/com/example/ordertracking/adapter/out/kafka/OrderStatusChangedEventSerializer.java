@@ -0,0 +1,19 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class OrderStatusChangedEventSerializer implements Serializer<OrderStatusChangedEvent> {
+
+    @Override
+    public byte[] serialize(String topic, OrderStatusChangedEvent event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return OrderStatusChangedEventCodec.encode(event);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot encode order event for " + event.orderId() + " on " + topic, ex);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import com.example.ordertracking.application.port.out.ReactivePublishOrderEventPort;
+import com.example.ordertracking.domain.model.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+// Completes when Kafka acknowledges the send, reusing the in-flight window of KafkaOrderEventPublisher.
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveKafkaOrderEventPublisher implements ReactivePublishOrderEventPort {
+
+    private final KafkaOrderEventPublisher publisher;
+    private final boolean deferred;
+
+    public ReactiveKafkaOrderEventPublisher(KafkaOrderEventPublisher publisher,
+                                            @Value("${app.events.publication-mode:inline}") String publicationMode) {
+        this.publisher = publisher;
+        this.deferred = !"inline".equalsIgnoreCase(publicationMode);
+    }
+
+    @Override
+    public void ensureCapacity() {
+        if (!deferred) {
+            publisher.ensureCapacity(1);
+        }
+    }
+
+    @Override
+    public Mono<Void> publishStatusChanged(Order order) {
+        if (deferred) {
+            return Mono.empty();
+        }
+        Mono<Void> sent = Mono.fromFuture(() -> publisher.publish(publisher.toEvent(order)));
+        // Waiting for a send slot must not happen on a Mongo driver thread.
+        return publisher.mayBlock() ? sent.subscribeOn(Schedulers.boundedElastic()) : sent;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+
+import java.time.Instant;
+
+@org.springframework.data.mongodb.core.mapping.Document("change_stream_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeStreamCheckpointDocument {
+    @Id
+    private String stream;
+    private org.bson.Document resumeToken;
+    private String owner;
+    private Instant expiresAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,62 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// One document per change stream: the last published resume token plus the lease of the instance tailing it.
+@Component
+@RequiredArgsConstructor
+public class ChangeStreamCheckpointStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public boolean tryAcquire(String stream, String owner, Instant now, Duration ttl) {
+        Query query = Query.query(Criteria.where("_id").is(stream)
+                .orOperator(Criteria.where("owner").is(owner), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update().set("owner", owner).set("expiresAt", now.plus(ttl));
+        try {
+            mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true), ChangeStreamCheckpointDocument.class);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public Optional<Document> resumeToken(String stream) {
+        return Optional.ofNullable(mongoTemplate.findById(stream, ChangeStreamCheckpointDocument.class))
+                .map(ChangeStreamCheckpointDocument::getResumeToken);
+    }
+
+    // Returns false when the lease was lost, in which case nothing is written.
+    public boolean checkpoint(String stream, String owner, Document resumeToken, Instant now, Duration ttl) {
+        Update update = new Update().set("expiresAt", now.plus(ttl));
+        if (resumeToken != null) {
+            update.set("resumeToken", resumeToken).set("updatedAt", now);
+        }
+        return mongoTemplate.updateFirst(ownedBy(stream, owner), update, ChangeStreamCheckpointDocument.class).getMatchedCount() == 1;
+    }
+
+    public void resetResumeToken(String stream, String owner) {
+        mongoTemplate.updateFirst(ownedBy(stream, owner), new Update().unset("resumeToken"), ChangeStreamCheckpointDocument.class);
+    }
+
+    public void release(String stream, String owner) {
+        mongoTemplate.updateFirst(ownedBy(stream, owner), new Update().unset("owner").set("expiresAt", Instant.EPOCH),
+                ChangeStreamCheckpointDocument.class);
+    }
+
+    private Query ownedBy(String stream, String owner) {
+        return Query.query(Criteria.where("_id").is(stream).and("owner").is(owner));
+    }
+}
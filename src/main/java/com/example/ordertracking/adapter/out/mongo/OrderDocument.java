@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -12,6 +14,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Document("orders")
+@CompoundIndex(name = "updatedAt_id", def = "{'updatedAt': -1, '_id': -1}")
+@CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "status_updatedAt_id", def = "{'status': 1, 'updatedAt': -1, '_id': -1}")
+@CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "outbox_pending", def = "{'outboxPartition': 1, 'outboxPendingSince': 1, '_id': 1}", sparse = true)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,6 +30,12 @@ public class OrderDocument {
     private String status;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
     @Builder.Default
     private List<TrackingEventDocument> history = new ArrayList<>();
+    @Indexed(name = "searchGrams")
+    private List<String> searchGrams;
+    private List<OutboxEventDocument> outbox;
+    private Integer outboxPartition;
+    private Instant outboxPendingSince;
 }
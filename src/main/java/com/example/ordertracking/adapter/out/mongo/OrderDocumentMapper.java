@@ -1,7 +1,9 @@
 package com.example.ordertracking.adapter.out.mongo;
 
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
 import com.example.ordertracking.domain.model.TrackingEvent;
 import org.springframework.stereotype.Component;
 
@@ -12,15 +14,37 @@ import java.util.stream.Collectors;
 public class OrderDocumentMapper {
 
     public Order toDomain(OrderDocument document) {
-        return Order.of(
+        return Order.builder()
+                .id(document.getId())
+                .customerId(document.getCustomerId())
+                .status(OrderStatus.valueOf(document.getStatus()))
+                .createdAt(document.getCreatedAt())
+                .updatedAt(document.getUpdatedAt())
+                .version(versionOf(document))
+                .history(new ArrayList<>(document.getHistory().stream().map(this::toDomain).toList()))
+                .build();
+    }
+
+    public OrderRevision toRevision(OrderDocument document) {
+        return new OrderRevision(document.getId(), versionOf(document), document.getUpdatedAt());
+    }
+
+    // Orders written before versioning start at 0.
+    long versionOf(OrderDocument document) {
+        return document.getVersion() == null ? 0 : document.getVersion();
+    }
+
+    public TrackingEvent toDomain(TrackingEventDocument event) {
+        return new TrackingEvent(event.getOrderId(), event.getStatus(), event.getOccurredAt(), event.getNote());
+    }
+
+    public OrderSummary toSummary(OrderDocument document) {
+        return new OrderSummary(
                 document.getId(),
                 document.getCustomerId(),
                 OrderStatus.valueOf(document.getStatus()),
                 document.getCreatedAt(),
-                document.getUpdatedAt(),
-                new ArrayList<>(document.getHistory().stream()
-                        .map(event -> new TrackingEvent(event.getOrderId(), event.getStatus(), event.getOccurredAt(), event.getNote()))
-                        .toList())
+                document.getUpdatedAt()
         );
     }
 
@@ -31,12 +55,18 @@ public class OrderDocumentMapper {
                 .status(order.status().name())
                 .createdAt(order.createdAt())
                 .updatedAt(order.updatedAt())
-                .history(order.history().stream().map(event -> TrackingEventDocument.builder()
-                        .orderId(event.orderId())
-                        .status(event.status())
-                        .occurredAt(event.occurredAt())
-                        .note(event.note())
-                        .build()).collect(Collectors.toList()))
+                .version(order.version())
+                .history(order.history().stream().map(this::toDocument).collect(Collectors.toList()))
+                .searchGrams(OrderSearchGrams.of(order.id(), order.customerId()))
+                .build();
+    }
+
+    public TrackingEventDocument toDocument(TrackingEvent event) {
+        return TrackingEventDocument.builder()
+                .orderId(event.orderId())
+                .status(event.status())
+                .occurredAt(event.occurredAt())
+                .note(event.note())
                 .build();
     }
 }
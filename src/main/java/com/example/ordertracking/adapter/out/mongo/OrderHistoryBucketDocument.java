@@ -0,0 +1,27 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Document("order_history_buckets")
+@CompoundIndex(name = "orderId_bucket", def = "{'orderId': 1, 'bucket': 1}")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderHistoryBucketDocument {
+    @Id
+    private String id;
+    private String orderId;
+    private long bucket;
+    @Builder.Default
+    private List<TrackingEventDocument> events = new ArrayList<>();
+}
@@ -0,0 +1,171 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Component
+public class OrderHistoryStore {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderHistoryStore.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final String storage;
+    private final int bucketSize;
+    private final int recentEvents;
+    private final int appendAttempts;
+    private final int deferredCapacity;
+    private final Queue<List<TrackingEventDocument>> deferred = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deferredEvents = new AtomicInteger();
+    private final Counter appendFailures;
+    private final Counter lostEvents;
+
+    public OrderHistoryStore(MongoTemplate mongoTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.orders.history.storage:embedded}") String storage,
+                             @Value("${app.orders.history.bucket-size:100}") int bucketSize,
+                             @Value("${app.orders.history.recent-events:10}") int recentEvents,
+                             @Value("${app.orders.history.append-attempts:3}") int appendAttempts,
+                             @Value("${app.orders.history.deferred-capacity:100000}") int deferredCapacity) {
+        this.mongoTemplate = mongoTemplate;
+        this.storage = storage;
+        this.bucketSize = bucketSize;
+        this.recentEvents = recentEvents;
+        this.appendAttempts = appendAttempts;
+        this.deferredCapacity = deferredCapacity;
+        this.appendFailures = Counter.builder("order.history.append.failures").register(meterRegistry);
+        this.lostEvents = Counter.builder("order.history.append.lost").register(meterRegistry);
+        meterRegistry.gauge("order.history.append.deferred", deferredEvents);
+    }
+
+    public boolean bucketed() {
+        return "bucketed".equalsIgnoreCase(storage);
+    }
+
+    public int recentEvents() {
+        return recentEvents;
+    }
+
+    public List<TrackingEventDocument> recent(List<TrackingEventDocument> history) {
+        return history.size() <= recentEvents ? history : List.copyOf(history.subList(history.size() - recentEvents, history.size()));
+    }
+
+    // Every status change bumps the version and adds one event, so the last event of an order at
+    // version v is event v and the ones before it count down from there.
+    public List<TrackingEventDocument> sequenced(List<TrackingEventDocument> history, long version) {
+        return IntStream.range(0, history.size())
+                .mapToObj(index -> withSequence(history.get(index), version - (history.size() - 1 - index)))
+                .toList();
+    }
+
+    private TrackingEventDocument withSequence(TrackingEventDocument event, long sequence) {
+        return TrackingEventDocument.builder()
+                .orderId(event.getOrderId())
+                .status(event.getStatus())
+                .occurredAt(event.getOccurredAt())
+                .note(event.getNote())
+                .sequence(sequence)
+                .build();
+    }
+
+    // The order document keeps only the recent tail, so events that could not reach their bucket are
+    // queued for a later re-append instead of being lost once they are trimmed out of it.
+    public void append(List<TrackingEventDocument> events) {
+        if (events.isEmpty() || tryAppend(events)) {
+            return;
+        }
+        appendFailures.increment(events.size());
+        if (deferredEvents.addAndGet(events.size()) > deferredCapacity) {
+            deferredEvents.addAndGet(-events.size());
+            lostEvents.increment(events.size());
+            log.error("History re-append queue is full, {} event(s) of order {} are lost", events.size(), events.get(0).getOrderId());
+            return;
+        }
+        deferred.add(events);
+    }
+
+    @Scheduled(fixedDelayString = "${app.orders.history.retry-interval:PT30S}")
+    public void appendDeferred() {
+        for (int pending = deferred.size(); pending > 0; pending--) {
+            List<TrackingEventDocument> events = deferred.poll();
+            if (events == null) {
+                return;
+            }
+            if (!tryAppend(events)) {
+                deferred.add(events);
+                return;
+            }
+            deferredEvents.addAndGet(-events.size());
+        }
+    }
+
+    // Buckets are keyed by the event sequence, so concurrent appends agree on the target bucket and
+    // $addToSet makes a replayed event a no-op, which is what lets a failed append be retried.
+    private boolean tryAppend(List<TrackingEventDocument> events) {
+        Map<String, List<TrackingEventDocument>> buckets = events.stream()
+                .collect(Collectors.groupingBy(this::bucketIdOf, LinkedHashMap::new, Collectors.toList()));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderHistoryBucketDocument.class);
+                buckets.forEach((bucketId, bucketEvents) -> bulk.upsert(
+                        Query.query(Criteria.where("_id").is(bucketId)),
+                        new Update()
+                                .addToSet("events").each(bucketEvents.toArray())
+                                .setOnInsert("orderId", bucketEvents.get(0).getOrderId())
+                                .setOnInsert("bucket", bucketOf(bucketEvents.get(0)))));
+                bulk.execute();
+                return true;
+            } catch (DataAccessException ex) {
+                if (attempt >= appendAttempts) {
+                    log.warn("Could not append {} history event(s) after {} attempts, deferring them", events.size(), attempt, ex);
+                    return false;
+                }
+            }
+        }
+    }
+
+    String bucketIdOf(TrackingEventDocument event) {
+        return event.getOrderId() + ":" + bucketOf(event);
+    }
+
+    private long bucketOf(TrackingEventDocument event) {
+        return Math.floorDiv(event.getSequence(), bucketSize);
+    }
+
+    public boolean hasBuckets(String orderId) {
+        return mongoTemplate.exists(Query.query(Criteria.where("orderId").is(orderId)), OrderHistoryBucketDocument.class);
+    }
+
+    public List<TrackingEventDocument> findEvents(String orderId, int page, int size) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("orderId").is(orderId)),
+                Aggregation.unwind("events"),
+                Aggregation.sort(Sort.by("events.sequence")),
+                Aggregation.skip((long) page * size),
+                Aggregation.limit(size),
+                Aggregation.replaceRoot("events"));
+        return mongoTemplate.aggregate(aggregation, OrderHistoryBucketDocument.class, TrackingEventDocument.class)
+                .getMappedResults();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.mongo.indexes", name = "bootstrap", havingValue = "true", matchIfMissing = true)
+public class OrderIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderIndexInitializer.class);
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(OrderDocument.class, OrderHistoryBucketDocument.class,
+            OutboxRelayMemberDocument.class, OrderStatsDocument.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        INDEXED_DOCUMENTS.forEach(type -> ensureIndexes(type, resolver));
+    }
+
+    private void ensureIndexes(Class<?> type, IndexResolver resolver) {
+        IndexOperations indexOps = mongoTemplate.indexOps(type);
+        List<? extends IndexDefinition> expected = StreamSupport.stream(resolver.resolveIndexFor(type).spliterator(), false).toList();
+        expected.forEach(indexOps::ensureIndex);
+
+        Set<String> existing = indexOps.getIndexInfo().stream().map(IndexInfo::getName).collect(Collectors.toSet());
+        List<String> missing = expected.stream()
+                .map(definition -> definition.getIndexOptions().getString("name"))
+                .filter(name -> !existing.contains(name))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing indexes on " + mongoTemplate.getCollectionName(type) + ": " + missing);
+        }
+        log.info("Verified {} indexes on collection {}", expected.size(), mongoTemplate.getCollectionName(type));
+    }
+}
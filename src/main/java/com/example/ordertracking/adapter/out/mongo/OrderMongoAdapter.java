@@ -1,59 +1,404 @@
 package com.example.ordertracking.adapter.out.mongo;
 
+import com.example.ordertracking.application.port.out.LoadOrderHistoryPort;
 import com.example.ordertracking.application.port.out.LoadOrderPort;
+import com.example.ordertracking.application.port.out.LoadOrderRevisionPort;
+import com.example.ordertracking.application.port.out.LoadOrderSummariesPort;
 import com.example.ordertracking.application.port.out.LoadStaleOrdersPort;
+import com.example.ordertracking.application.port.out.OrderSearchCursor;
 import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
 import com.example.ordertracking.application.port.out.SaveOrderPort;
 import com.example.ordertracking.application.port.out.SearchOrdersPort;
+import com.example.ordertracking.application.port.out.TransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderStatusTransitions;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.example.ordertracking.domain.model.TrackingEvent;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
-public class OrderMongoAdapter implements LoadOrderPort, SaveOrderPort, LoadStaleOrdersPort, SearchOrdersPort {
+public class OrderMongoAdapter implements LoadOrderPort, SaveOrderPort, TransitionOrderStatusPort, LoadStaleOrdersPort, SearchOrdersPort,
+        LoadOrderHistoryPort, LoadOrderSummariesPort, LoadOrderRevisionPort {
+
+    private static final int DUPLICATE_KEY = 11000;
 
     private final SpringDataOrderRepository repository;
     private final OrderDocumentMapper mapper;
     private final MongoTemplate mongoTemplate;
+    private final OrderHistoryStore historyStore;
+    private final OrderOutboxStore outboxStore;
+    private final OrderSearchGramsBackfill searchGramsBackfill;
+    @Value("${app.jobs.stale-order-completion-chunk-size:500}")
+    private int staleCursorBatchSize;
+    @Value("${app.orders.export.cursor-batch-size:1000}")
+    private int exportCursorBatchSize;
 
 
     @Override
     public Optional<Order> findById(String orderId) {
-        return repository.findById(orderId).map(mapper::toDomain);
+        return Optional.ofNullable(mongoTemplate.findOne(byIdQuery(orderId), OrderDocument.class)).map(mapper::toDomain);
+    }
+
+    // The search grams only serve the index; full-document reads leave them on the server.
+    Query byIdQuery(String orderId) {
+        Query query = Query.query(Criteria.where("_id").is(orderId));
+        query.fields().exclude(OrderSearchGrams.FIELD);
+        return query;
+    }
+
+    @Override
+    public Optional<OrderRevision> findRevision(String orderId) {
+        Query query = Query.query(Criteria.where("_id").is(orderId));
+        query.fields().include("version").include("updatedAt");
+        return Optional.ofNullable(mongoTemplate.findOne(query, OrderDocument.class)).map(mapper::toRevision);
     }
 
     @Override
     public Order save(Order order) {
-        return mapper.toDomain(repository.save(mapper.toDocument(order)));
+        if (!historyStore.bucketed() && !outboxStore.enabled()) {
+            return mapper.toDomain(repository.save(mapper.toDocument(order)));
+        }
+        OrderDocument document = mapper.toDocument(order);
+        List<TrackingEventDocument> history = document.getHistory();
+        if (historyStore.bucketed()) {
+            document.setHistory(new ArrayList<>(historyStore.recent(history)));
+        }
+        Query query = Query.query(Criteria.where("_id").is(order.id()));
+        if (outboxStore.enabled()) {
+            mongoTemplate.upsert(query, outboxUpsert(document), OrderDocument.class);
+        } else {
+            mongoTemplate.findAndReplace(query, document, FindAndReplaceOptions.options().upsert());
+        }
+        if (historyStore.bucketed()) {
+            historyStore.append(historyStore.sequenced(history, order.version()));
+        }
+        return mapper.toDomain(document);
+    }
+
+    // A replacement would drop outbox entries the relay has not sent yet, so every other field is $set instead.
+    private Update outboxUpsert(OrderDocument document) {
+        Document fields = new Document();
+        mongoTemplate.getConverter().write(document, fields);
+        fields.remove("_id");
+        Update update = new Update();
+        fields.forEach(update::set);
+        outboxStore.stage(update, document.getId(), document.getStatus(), document.getUpdatedAt());
+        return update;
     }
 
     @Override
-    public List<Order> findShippedBefore(Instant before) {
-        return repository.findByStatusAndUpdatedAtBefore(OrderStatus.SHIPPED.name(), before)
+    public List<Order> insertAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        List<OrderDocument> documents = orders.stream().map(this::toNewDocument).toList();
+        Set<Integer> duplicates = new HashSet<>();
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderDocument.class).insert(documents).execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                if (error.getCode() != DUPLICATE_KEY) {
+                    throw ex;
+                }
+                duplicates.add(error.getIndex());
+            }
+        }
+        List<Order> inserted = IntStream.range(0, orders.size())
+                .filter(index -> !duplicates.contains(index))
+                .mapToObj(orders::get)
+                .toList();
+        if (historyStore.bucketed()) {
+            historyStore.append(inserted.stream()
+                    .flatMap(order -> historyStore.sequenced(mapper.toDocument(order).getHistory(), order.version()).stream())
+                    .toList());
+        }
+        return inserted;
+    }
+
+    OrderDocument toNewDocument(Order order) {
+        OrderDocument document = mapper.toDocument(order);
+        if (historyStore.bucketed()) {
+            document.setHistory(new ArrayList<>(historyStore.recent(document.getHistory())));
+        }
+        if (outboxStore.enabled()) {
+            outboxStore.stage(document);
+        }
+        return document;
+    }
+
+    @Override
+    public Optional<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note) {
+        TrackingEventDocument event = mapper.toDocument(new TrackingEvent(orderId, target.name(), at, note));
+        OrderDocument before = mongoTemplate.findAndModify(transitionQuery(orderId, target), transitionUpdate(target, at, event),
+                FindAndModifyOptions.options().returnNew(false), OrderDocument.class);
+        if (before == null) {
+            return Optional.empty();
+        }
+        if (historyStore.bucketed()) {
+            historyStore.append(bucketEvents(before, List.of(event)));
+        }
+        return Optional.of(new TransitionedOrder(mapper.toDomain(applyTransition(before, target, at, event)),
+                OrderStatus.valueOf(before.getStatus())));
+    }
+
+    // The pre-image still holds the history the update trimmed: all of it on the first bucketed write of
+    // an order stored before buckets were enabled, the recent tail afterwards. Re-sending the tail is a
+    // no-op for events already in their bucket and replays any earlier append that never made it.
+    List<TrackingEventDocument> bucketEvents(OrderDocument before, List<TrackingEventDocument> events) {
+        List<TrackingEventDocument> history = new ArrayList<>(before.getHistory());
+        history.addAll(events);
+        return historyStore.sequenced(history, mapper.versionOf(before) + events.size());
+    }
+
+    OrderDocument applyTransition(OrderDocument before, OrderStatus target, Instant at, TrackingEventDocument event) {
+        List<TrackingEventDocument> history = new ArrayList<>(before.getHistory());
+        history.add(event);
+        return OrderDocument.builder()
+                .id(before.getId())
+                .customerId(before.getCustomerId())
+                .status(target.name())
+                .createdAt(before.getCreatedAt())
+                .updatedAt(at)
+                .version(mapper.versionOf(before) + 1)
+                .history(historyStore.bucketed() ? new ArrayList<>(historyStore.recent(history)) : history)
+                .build();
+    }
+
+    @Override
+    public List<OrderStatusTransition> transitionAll(List<OrderStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return List.of();
+        }
+        boolean chained = transitions.stream().map(OrderStatusTransition::orderId).distinct().count() < transitions.size();
+        Map<String, OrderDocument> before = historyStore.bucketed() || chained ? statesBefore(transitions) : Map.of();
+        BulkOperations bulk = mongoTemplate.bulkOps(chained ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED,
+                OrderDocument.class);
+        transitions.forEach(transition -> bulk.updateOne(
+                Query.query(Criteria.where("_id").is(transition.orderId()).and("status").is(transition.from().name())),
+                transitionUpdate(transition.to(), transition.at(), eventOf(transition))));
+        BulkWriteResult result = bulk.execute();
+        List<OrderStatusTransition> applied = result.getModifiedCount() == transitions.size()
+                ? transitions
+                : confirmApplied(transitions, before);
+        if (historyStore.bucketed()) {
+            historyStore.append(applied.stream()
+                    .collect(Collectors.groupingBy(OrderStatusTransition::orderId, LinkedHashMap::new,
+                            Collectors.mapping(this::eventOf, Collectors.toList())))
+                    .entrySet().stream()
+                    .flatMap(entry -> bucketEvents(before.get(entry.getKey()), entry.getValue()).stream())
+                    .toList());
+        }
+        return applied;
+    }
+
+    // Read ahead of the bulk, because its updates trim what has not reached the buckets yet and
+    // overwrite the status a chain of hops started from.
+    private Map<String, OrderDocument> statesBefore(List<OrderStatusTransition> transitions) {
+        Query query = Query.query(Criteria.where("_id").in(transitions.stream().map(OrderStatusTransition::orderId).distinct().toList()));
+        query.fields().include("status").include("version");
+        if (historyStore.bucketed()) {
+            query.fields().include("history");
+        }
+        return mongoTemplate.find(query, OrderDocument.class).stream()
+                .collect(Collectors.toMap(OrderDocument::getId, Function.identity()));
+    }
+
+    private List<OrderStatusTransition> confirmApplied(List<OrderStatusTransition> transitions, Map<String, OrderDocument> before) {
+        Query query = Query.query(Criteria.where("_id").in(transitions.stream().map(OrderStatusTransition::orderId).distinct().toList()));
+        query.fields().include("status").include("updatedAt");
+        Map<String, OrderDocument> current = mongoTemplate.find(query, OrderDocument.class).stream()
+                .collect(Collectors.toMap(OrderDocument::getId, Function.identity()));
+        // An ORDERED bulk only stops on a write error: a hop that matches nothing is skipped and the next
+        // one still runs, and may match a status the order already had. Replaying each chain from the
+        // state read before the bulk tells which hops matched; the stored state then confirms how far
+        // the chain got before any concurrent write.
+        Map<String, String> replayed = new HashMap<>();
+        boolean[] matched = new boolean[transitions.size()];
+        for (int i = 0; i < transitions.size(); i++) {
+            OrderStatusTransition transition = transitions.get(i);
+            OrderDocument start = before.get(transition.orderId());
+            String status = replayed.getOrDefault(transition.orderId(), start == null ? null : start.getStatus());
+            if (start == null || transition.from().name().equals(status)) {
+                matched[i] = true;
+                replayed.put(transition.orderId(), transition.to().name());
+            }
+        }
+        Map<String, Integer> lastApplied = new HashMap<>();
+        for (int i = 0; i < transitions.size(); i++) {
+            OrderStatusTransition transition = transitions.get(i);
+            OrderDocument document = current.get(transition.orderId());
+            if (document != null
+                    && transition.to().name().equals(document.getStatus())
+                    && transition.at().toEpochMilli() == document.getUpdatedAt().toEpochMilli()) {
+                lastApplied.put(transition.orderId(), i);
+            }
+        }
+        List<OrderStatusTransition> applied = new ArrayList<>();
+        for (int i = 0; i < transitions.size(); i++) {
+            Integer last = lastApplied.get(transitions.get(i).orderId());
+            if (matched[i] && last != null && i <= last) {
+                applied.add(transitions.get(i));
+            }
+        }
+        return applied;
+    }
+
+    private TrackingEventDocument eventOf(OrderStatusTransition transition) {
+        return mapper.toDocument(new TrackingEvent(transition.orderId(), transition.to().name(), transition.at(), transition.note()));
+    }
+
+    Query transitionQuery(String orderId, OrderStatus target) {
+        List<String> allowedSources = OrderStatusTransitions.sourcesOf(target).stream().map(Enum::name).toList();
+        Query query = Query.query(Criteria.where("_id").is(orderId).and("status").in(allowedSources));
+        query.fields().exclude(OrderSearchGrams.FIELD);
+        return query;
+    }
+
+    Update transitionUpdate(OrderStatus target, Instant at, TrackingEventDocument event) {
+        Update update = new Update()
+                .set("status", target.name())
+                .set("updatedAt", at)
+                .inc("version", 1);
+        if (historyStore.bucketed()) {
+            update.push("history").slice(-historyStore.recentEvents()).each(event);
+        } else {
+            update.push("history", event);
+        }
+        if (outboxStore.enabled()) {
+            outboxStore.stage(update, event.getOrderId(), target.name(), at);
+        }
+        return update;
+    }
+
+    @Override
+    public Optional<List<TrackingEvent>> findHistory(String orderId, int page, int size) {
+        if (historyStore.bucketed()) {
+            List<TrackingEventDocument> events = historyStore.findEvents(orderId, page, size);
+            if (!events.isEmpty() || historyStore.hasBuckets(orderId)) {
+                return Optional.of(events.stream().map(mapper::toDomain).toList());
+            }
+        }
+        Query query = Query.query(Criteria.where("_id").is(orderId));
+        // An offset past the int range is past any embedded history too.
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        query.fields().include("_id").slice("history", offset, size);
+        return Optional.ofNullable(mongoTemplate.findOne(query, OrderDocument.class))
+                .map(document -> document.getHistory().stream().map(mapper::toDomain).toList());
+    }
+
+    @Override
+    public Stream<OrderSummary> streamShippedBefore(Instant before) {
+        Query query = Query.query(Criteria.where("status").is(OrderStatus.SHIPPED.name()).and("updatedAt").lt(before));
+        query.fields().exclude("history").exclude(OrderSearchGrams.FIELD);
+        query.cursorBatchSize(staleCursorBatchSize);
+        return mongoTemplate.stream(query, OrderDocument.class).map(mapper::toSummary);
+    }
+
+    @Override
+    public List<Order> findAll(OrderSearchQuery query) {
+        return mongoTemplate.find(ordersQuery(query), OrderDocument.class)
                 .stream()
                 .map(mapper::toDomain)
                 .toList();
     }
 
     @Override
-    public List<Order> findAll(OrderSearchQuery query) {
+    public List<OrderSummary> findSummariesByIds(Collection<String> orderIds) {
+        Query query = Query.query(Criteria.where("_id").in(orderIds));
+        query.fields().exclude("history").exclude(OrderSearchGrams.FIELD);
+        return mongoTemplate.find(query, OrderDocument.class)
+                .stream()
+                .map(mapper::toSummary)
+                .toList();
+    }
+
+    @Override
+    public List<OrderSummary> findSummaries(OrderSearchQuery query) {
+        return mongoTemplate.find(summariesQuery(query), OrderDocument.class)
+                .stream()
+                .map(mapper::toSummary)
+                .toList();
+    }
+
+    @Override
+    public Stream<OrderSummary> streamSummaries(OrderSearchQuery query) {
+        Query mongoQuery = filterQuery(query);
+        mongoQuery.fields().exclude("history").exclude(OrderSearchGrams.FIELD);
+        mongoQuery.cursorBatchSize(exportCursorBatchSize);
+        return mongoTemplate.stream(mongoQuery, OrderDocument.class).map(mapper::toSummary);
+    }
+
+    Query ordersQuery(OrderSearchQuery query) {
+        Query mongoQuery = toMongoQuery(query);
+        mongoQuery.fields().exclude(OrderSearchGrams.FIELD);
+        return mongoQuery;
+    }
+
+    Query summariesQuery(OrderSearchQuery query) {
+        Query mongoQuery = toMongoQuery(query);
+        mongoQuery.fields().exclude("history").exclude(OrderSearchGrams.FIELD);
+        return mongoQuery;
+    }
+
+    Query toMongoQuery(OrderSearchQuery query) {
+        Query mongoQuery = filterQuery(query);
+        if (query.cursor() != null) {
+            mongoQuery.addCriteria(after(OrderSearchCursor.decode(query)));
+        } else {
+            mongoQuery.skip((long) query.page() * query.size());
+        }
+        mongoQuery.limit(query.size());
+        return mongoQuery;
+    }
+
+    private Query filterQuery(OrderSearchQuery query) {
         Query mongoQuery = new Query();
+        List<String> searchGrams = new ArrayList<>();
         if (query.orderIdContains() != null && !query.orderIdContains().isBlank()) {
+            searchGrams.addAll(OrderSearchGrams.forOrderIdContains(query.orderIdContains()));
             mongoQuery.addCriteria(Criteria.where("_id").regex(containsIgnoreCase(query.orderIdContains())));
         }
         if (query.customerIdContains() != null && !query.customerIdContains().isBlank()) {
+            searchGrams.addAll(OrderSearchGrams.forCustomerIdContains(query.customerIdContains()));
             mongoQuery.addCriteria(Criteria.where("customerId").regex(containsIgnoreCase(query.customerIdContains())));
         }
+        if (!searchGrams.isEmpty()) {
+            mongoQuery.addCriteria(searchGramsCriteria(searchGrams));
+        }
         if (query.status() != null && !query.status().isBlank()) {
             mongoQuery.addCriteria(Criteria.where("status").is(query.status()));
         }
@@ -67,16 +412,30 @@ public class OrderMongoAdapter implements LoadOrderPort, SaveOrderPort, LoadStal
             }
             mongoQuery.addCriteria(range);
         }
-        Sort.Direction direction = "asc".equalsIgnoreCase(query.sortDir()) ? Sort.Direction.ASC : Sort.Direction.DESC;
-        String sortField = "createdAt".equalsIgnoreCase(query.sortBy()) ? "createdAt" : "updatedAt";
-        mongoQuery.with(Sort.by(direction, sortField));
-        mongoQuery.skip((long) query.page() * query.size());
-        mongoQuery.limit(query.size());
+        Sort.Direction direction = query.ascending() ? Sort.Direction.ASC : Sort.Direction.DESC;
+        String sortField = query.sortField();
+        mongoQuery.with(Sort.by(direction, sortField, "_id"));
+        return mongoQuery;
+    }
 
-        return mongoTemplate.find(mongoQuery, OrderDocument.class)
-                .stream()
-                .map(mapper::toDomain)
-                .toList();
+    // Until the backfill is done, orders without grams are left to the regex; $nor keeps $or free for the cursor.
+    private Criteria searchGramsCriteria(List<String> searchGrams) {
+        if (searchGramsBackfill.completed()) {
+            return Criteria.where(OrderSearchGrams.FIELD).all(searchGrams);
+        }
+        return new Criteria().norOperator(Criteria.where(OrderSearchGrams.FIELD).exists(true).not().all(searchGrams));
+    }
+
+    private Criteria after(OrderSearchCursor cursor) {
+        String field = cursor.sortField();
+        if (cursor.ascending()) {
+            return new Criteria().orOperator(
+                    Criteria.where(field).gt(cursor.sortValue()),
+                    Criteria.where(field).is(cursor.sortValue()).and("_id").gt(cursor.id()));
+        }
+        return new Criteria().orOperator(
+                Criteria.where(field).lt(cursor.sortValue()),
+                Criteria.where(field).is(cursor.sortValue()).and("_id").lt(cursor.id()));
     }
 
     private String containsIgnoreCase(String value) {
@@ -0,0 +1,141 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class OrderOutboxStore {
+
+    static final String OUTBOX = "outbox";
+    static final String PARTITION = "outboxPartition";
+    static final String PENDING_SINCE = "outboxPendingSince";
+
+    private final MongoTemplate mongoTemplate;
+    @Value("${app.events.publication-mode:inline}")
+    private String publicationMode;
+    @Value("${app.events.outbox.partitions:16}")
+    private int partitions;
+
+    public boolean enabled() {
+        return "outbox".equalsIgnoreCase(publicationMode);
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public int partitionOf(String orderId) {
+        return Math.floorMod(orderId.hashCode(), partitions);
+    }
+
+    void stage(OrderDocument document) {
+        document.setOutbox(new ArrayList<>(List.of(entryOf(document.getStatus(), document.getUpdatedAt()))));
+        document.setOutboxPartition(partitionOf(document.getId()));
+        document.setOutboxPendingSince(document.getUpdatedAt());
+    }
+
+    void stage(Update update, String orderId, String status, Instant at) {
+        update.push(OUTBOX, entryOf(status, at))
+                .set(PARTITION, partitionOf(orderId))
+                .min(PENDING_SINCE, at);
+    }
+
+    public List<PendingOutboxEvent> pendingEvents(int partition, int limit) {
+        Query query = Query.query(Criteria.where(PARTITION).is(partition).and(PENDING_SINCE).exists(true))
+                .with(Sort.by(PENDING_SINCE, "_id"))
+                .limit(limit);
+        query.fields().include("customerId").include(OUTBOX);
+        List<PendingOutboxEvent> events = new ArrayList<>();
+        for (OrderDocument document : mongoTemplate.find(query, OrderDocument.class)) {
+            for (OutboxEventDocument entry : document.getOutbox()) {
+                events.add(new PendingOutboxEvent(entry.getEventId(), document.getId(), document.getCustomerId(),
+                        OrderStatus.valueOf(entry.getStatus()), entry.getUpdatedAt()));
+            }
+        }
+        return events;
+    }
+
+    public void markSent(List<PendingOutboxEvent> events) {
+        Map<String, List<String>> sentByOrder = events.stream().collect(Collectors.groupingBy(
+                PendingOutboxEvent::orderId, LinkedHashMap::new, Collectors.mapping(PendingOutboxEvent::eventId, Collectors.toList())));
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, OrderDocument.class);
+        sentByOrder.forEach((orderId, eventIds) -> {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(orderId)),
+                    new Update().pull(OUTBOX, new Document("eventId", new Document("$in", eventIds))));
+            bulk.updateOne(Query.query(Criteria.where("_id").is(orderId).and(OUTBOX + ".0").exists(false)),
+                    new Update().unset(OUTBOX).unset(PARTITION).unset(PENDING_SINCE));
+            // Entries staged while this batch was in flight remain; the lag is measured from the oldest of them.
+            bulk.updateOne(Query.query(Criteria.where("_id").is(orderId).and(OUTBOX + ".0").exists(true)),
+                    AggregationUpdate.update().set(PENDING_SINCE).toValue(AccumulatorOperators.Min.minOf(OUTBOX + ".updatedAt")));
+        });
+        bulk.execute();
+    }
+
+    public Optional<Instant> oldestPending(int partition) {
+        Query query = Query.query(Criteria.where(PARTITION).is(partition).and(PENDING_SINCE).exists(true))
+                .with(Sort.by(PENDING_SINCE));
+        query.fields().include(PENDING_SINCE);
+        return Optional.ofNullable(mongoTemplate.findOne(query, OrderDocument.class)).map(OrderDocument::getOutboxPendingSince);
+    }
+
+    public void heartbeat(String instanceId, Instant now) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(instanceId)), Update.update("lastSeen", now),
+                OutboxRelayMemberDocument.class);
+    }
+
+    public long activeRelays(Instant seenSince) {
+        return mongoTemplate.count(Query.query(Criteria.where("lastSeen").gte(seenSince)), OutboxRelayMemberDocument.class);
+    }
+
+    public Set<Integer> leasedByOthers(String instanceId, Instant now) {
+        Query query = Query.query(Criteria.where("owner").ne(instanceId).and("expiresAt").gte(now));
+        return mongoTemplate.find(query, OutboxLeaseDocument.class).stream()
+                .map(OutboxLeaseDocument::getPartition)
+                .collect(Collectors.toSet());
+    }
+
+    public boolean acquireLease(int partition, String instanceId, Instant now, Duration ttl) {
+        Query query = Query.query(Criteria.where("_id").is(partition)
+                .orOperator(Criteria.where("owner").is(instanceId), Criteria.where("expiresAt").lt(now)));
+        Update update = new Update().set("owner", instanceId).set("expiresAt", now.plus(ttl));
+        try {
+            mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().upsert(true), OutboxLeaseDocument.class);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    public void releaseLease(int partition, String instanceId) {
+        mongoTemplate.remove(Query.query(Criteria.where("_id").is(partition).and("owner").is(instanceId)), OutboxLeaseDocument.class);
+    }
+
+    private OutboxEventDocument entryOf(String status, Instant at) {
+        return new OutboxEventDocument(UUID.randomUUID().toString(), status, at);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.example.ordertracking.application.port.out.OrderSearchCursor;
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+@ConditionalOnProperty(prefix = "app.mongo.query-diagnostics", name = "enabled", havingValue = "true")
+public class OrderQueryPlanAdvisor {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderQueryPlanAdvisor.class);
+    private static final String[] SORT_FIELDS = {"updatedAt", "createdAt"};
+
+    private final MongoTemplate mongoTemplate;
+    private final OrderMongoAdapter orderMongoAdapter;
+    private final MultiGauge flaggedShapes;
+    private final AtomicInteger collectionScans;
+    private final AtomicInteger inMemorySorts;
+    private volatile List<QueryPlanReport> reports = List.of();
+
+    public OrderQueryPlanAdvisor(MongoTemplate mongoTemplate, OrderMongoAdapter orderMongoAdapter, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.orderMongoAdapter = orderMongoAdapter;
+        this.flaggedShapes = MultiGauge.builder("order.mongo.query.plan.flagged").register(meterRegistry);
+        this.collectionScans = meterRegistry.gauge("order.mongo.query.plan.shapes", Tags.of("issue", "collscan"), new AtomicInteger());
+        this.inMemorySorts = meterRegistry.gauge("order.mongo.query.plan.shapes", Tags.of("issue", "in_memory_sort"), new AtomicInteger());
+    }
+
+    public List<QueryPlanReport> reports() {
+        return reports;
+    }
+
+    @Scheduled(initialDelayString = "${app.mongo.query-diagnostics.initial-delay:PT1M}",
+            fixedDelayString = "${app.mongo.query-diagnostics.interval:PT1H}")
+    public void refresh() {
+        analyze();
+    }
+
+    public List<QueryPlanReport> analyze() {
+        List<QueryPlanReport> analyzed = new ArrayList<>();
+        for (int filters = 0; filters < 16; filters++) {
+            for (String sortField : SORT_FIELDS) {
+                analyzed.add(explain(sampleQuery(filters, sortField, false)));
+                analyzed.add(explain(sampleQuery(filters, sortField, true)));
+            }
+        }
+        reports = List.copyOf(analyzed);
+        collectionScans.set((int) analyzed.stream().filter(QueryPlanReport::collectionScan).count());
+        inMemorySorts.set((int) analyzed.stream().filter(QueryPlanReport::inMemorySort).count());
+        flaggedShapes.register(analyzed.stream()
+                .filter(QueryPlanReport::flagged)
+                .map(report -> MultiGauge.Row.of(Tags.of("shape", report.shape(), "issue", report.issue()), 1))
+                .toList(), true);
+        analyzed.stream().filter(QueryPlanReport::flagged)
+                .forEach(report -> log.warn("Order query shape {} uses {} (plan stages {})", report.shape(), report.issue(), report.stages()));
+        return reports;
+    }
+
+    private QueryPlanReport explain(OrderSearchQuery sample) {
+        Query query = orderMongoAdapter.toMongoQuery(sample);
+        Document explain = mongoTemplate.getCollection(mongoTemplate.getCollectionName(OrderDocument.class))
+                .find(query.getQueryObject())
+                .sort(query.getSortObject())
+                .limit(query.getLimit())
+                .explain();
+        Set<String> stages = new LinkedHashSet<>();
+        Object queryPlanner = explain.get("queryPlanner");
+        if (queryPlanner instanceof Document planner) {
+            collectStages(planner.get("winningPlan"), stages);
+        }
+        return new QueryPlanReport(shapeOf(sample), List.copyOf(stages), stages.contains("COLLSCAN"), stages.contains("SORT"));
+    }
+
+    private void collectStages(Object node, Set<String> stages) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            document.values().forEach(value -> collectStages(value, stages));
+        } else if (node instanceof List<?> list) {
+            list.forEach(value -> collectStages(value, stages));
+        }
+    }
+
+    private OrderSearchQuery sampleQuery(int filters, String sortField, boolean seek) {
+        Instant now = Instant.now();
+        OrderSearchQuery query = new OrderSearchQuery(
+                (filters & 1) != 0 ? "sample" : null,
+                (filters & 2) != 0 ? "sample" : null,
+                (filters & 4) != 0 ? "SHIPPED" : null,
+                (filters & 8) != 0 ? now.minusSeconds(86_400) : null,
+                (filters & 8) != 0 ? now : null,
+                0, 50, sortField, "desc");
+        if (!seek) {
+            return query;
+        }
+        String cursor = OrderSearchCursor.after(query, now, "sample").encode();
+        return new OrderSearchQuery(query.orderIdContains(), query.customerIdContains(), query.status(),
+                query.updatedFrom(), query.updatedTo(), 0, 50, sortField, "desc", cursor);
+    }
+
+    private String shapeOf(OrderSearchQuery query) {
+        List<String> filters = new ArrayList<>();
+        if (query.orderIdContains() != null) {
+            filters.add("orderId");
+        }
+        if (query.customerIdContains() != null) {
+            filters.add("customerId");
+        }
+        if (query.status() != null) {
+            filters.add("status");
+        }
+        if (query.updatedFrom() != null) {
+            filters.add("updatedRange");
+        }
+        return (filters.isEmpty() ? "all" : String.join("+", filters))
+                + "|sort=" + query.sortField()
+                + (query.cursor() != null ? "|seek" : "|offset");
+    }
+
+    public record QueryPlanReport(String shape, List<String> stages, boolean collectionScan, boolean inMemorySort) {
+
+        public boolean flagged() {
+            return collectionScan || inMemorySort;
+        }
+
+        public String issue() {
+            if (collectionScan && inMemorySort) {
+                return "collscan+in_memory_sort";
+            }
+            return collectionScan ? "collscan" : inMemorySort ? "in_memory_sort" : "none";
+        }
+    }
+}
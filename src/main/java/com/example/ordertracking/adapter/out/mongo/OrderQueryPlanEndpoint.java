@@ -0,0 +1,29 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Endpoint(id = "orderqueryplans")
+@ConditionalOnProperty(prefix = "app.mongo.query-diagnostics", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderQueryPlanEndpoint {
+
+    private final OrderQueryPlanAdvisor advisor;
+
+    @ReadOperation
+    public List<OrderQueryPlanAdvisor.QueryPlanReport> reports() {
+        return advisor.reports();
+    }
+
+    @WriteOperation
+    public List<OrderQueryPlanAdvisor.QueryPlanReport> analyze() {
+        return advisor.analyze();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+final class OrderSearchGrams {
+
+    static final String FIELD = "searchGrams";
+    private static final int MAX_GRAM_LENGTH = 3;
+    private static final String ORDER_ID = "i:";
+    private static final String CUSTOMER_ID = "c:";
+
+    private OrderSearchGrams() {
+    }
+
+    static List<String> of(String orderId, String customerId) {
+        Set<String> grams = new LinkedHashSet<>();
+        addGrams(grams, ORDER_ID, orderId);
+        addGrams(grams, CUSTOMER_ID, customerId);
+        return List.copyOf(grams);
+    }
+
+    static List<String> forOrderIdContains(String value) {
+        return queryGrams(ORDER_ID, value);
+    }
+
+    static List<String> forCustomerIdContains(String value) {
+        return queryGrams(CUSTOMER_ID, value);
+    }
+
+    // Every document containing the value holds all of these grams; the regex still decides the match.
+    private static List<String> queryGrams(String prefix, String value) {
+        String normalized = value.toLowerCase(Locale.ROOT);
+        if (normalized.length() <= MAX_GRAM_LENGTH) {
+            return List.of(prefix + normalized);
+        }
+        Set<String> grams = new LinkedHashSet<>();
+        for (int start = 0; start + MAX_GRAM_LENGTH <= normalized.length(); start++) {
+            grams.add(prefix + normalized.substring(start, start + MAX_GRAM_LENGTH));
+        }
+        return List.copyOf(grams);
+    }
+
+    private static void addGrams(Set<String> grams, String prefix, String value) {
+        if (value == null) {
+            return;
+        }
+        String normalized = value.toLowerCase(Locale.ROOT);
+        for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+            for (int start = 0; start + length <= normalized.length(); start++) {
+                grams.add(prefix + normalized.substring(start, start + length));
+            }
+        }
+    }
+}
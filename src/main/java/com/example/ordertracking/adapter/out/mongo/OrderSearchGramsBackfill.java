@@ -0,0 +1,65 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Runs whatever the index bootstrap setting: until every order carries its grams, contains searches
+// keep matching the orders without them on the regex alone.
+@Component
+@RequiredArgsConstructor
+public class OrderSearchGramsBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderSearchGramsBackfill.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private volatile boolean completed;
+
+    public boolean completed() {
+        return completed;
+    }
+
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        Query query = Query.query(Criteria.where(OrderSearchGrams.FIELD).exists(false));
+        query.fields().include("customerId");
+        query.cursorBatchSize(BATCH_SIZE);
+        int backfilled = 0;
+        try (Stream<OrderDocument> documents = mongoTemplate.stream(query, OrderDocument.class)) {
+            Iterator<OrderDocument> iterator = documents.iterator();
+            List<OrderDocument> batch = new ArrayList<>(BATCH_SIZE);
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == BATCH_SIZE || !iterator.hasNext()) {
+                    BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderDocument.class);
+                    batch.forEach(document -> bulk.updateOne(
+                            Query.query(Criteria.where("_id").is(document.getId())),
+                            Update.update(OrderSearchGrams.FIELD, OrderSearchGrams.of(document.getId(), document.getCustomerId()))));
+                    bulk.execute();
+                    backfilled += batch.size();
+                    batch.clear();
+                }
+            }
+        }
+        completed = true;
+        if (backfilled > 0) {
+            log.info("Backfilled search grams on {} orders", backfilled);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Either the running count of orders per status (id "status-counts") or the transitions of one hour
+// (id "transitions:<hour>"), counted by target status. Only hourly documents carry expiresAt.
+@Document("order_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatsDocument {
+    @Id
+    private String id;
+    private Map<String, Long> counts;
+    @Indexed
+    private Instant hour;
+    @Indexed(name = "expiresAt_ttl", expireAfter = "0s")
+    private Instant expiresAt;
+    private Instant reconciledAt;
+    private Instant reconcilingUntil;
+}
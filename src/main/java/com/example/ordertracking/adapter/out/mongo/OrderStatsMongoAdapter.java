@@ -0,0 +1,153 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.example.ordertracking.application.port.out.LoadOrderStatsPort;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
+import com.example.ordertracking.domain.model.OrderStats;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderTransitionBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+public class OrderStatsMongoAdapter implements RecordOrderStatsPort, LoadOrderStatsPort {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsMongoAdapter.class);
+    static final String STATUS_COUNTS_ID = "status-counts";
+    private static final String HOURLY_ID_PREFIX = "transitions:";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration hourlyRetention;
+    private final Duration reconciliationLease;
+    private final Counter recordErrors;
+
+    public OrderStatsMongoAdapter(MongoTemplate mongoTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.orders.stats.hourly-retention:P30D}") Duration hourlyRetention,
+                                  @Value("${app.orders.stats.reconciliation-lease:PT10M}") Duration reconciliationLease) {
+        this.mongoTemplate = mongoTemplate;
+        this.hourlyRetention = hourlyRetention;
+        this.reconciliationLease = reconciliationLease;
+        this.recordErrors = meterRegistry.counter("order.stats.record.errors");
+    }
+
+    // One unordered bulk of $inc upserts per call: the status counters plus one document per hour touched.
+    // Counters are best effort after the order write has succeeded; a failure is left to reconciliation.
+    @Override
+    public void recordTransitions(List<OrderStatusTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        Map<OrderStatus, Long> statusDeltas = new EnumMap<>(OrderStatus.class);
+        Map<Instant, Map<OrderStatus, Long>> hourly = new TreeMap<>();
+        for (OrderStatusTransition transition : transitions) {
+            if (transition.from() != null) {
+                statusDeltas.merge(transition.from(), -1L, Long::sum);
+            }
+            statusDeltas.merge(transition.to(), 1L, Long::sum);
+            hourly.computeIfAbsent(transition.at().truncatedTo(ChronoUnit.HOURS), hour -> new EnumMap<>(OrderStatus.class))
+                    .merge(transition.to(), 1L, Long::sum);
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderStatsDocument.class);
+        Update counts = new Update();
+        statusDeltas.forEach((status, delta) -> {
+            if (delta != 0) {
+                counts.inc("counts." + status.name(), delta);
+            }
+        });
+        if (!counts.getUpdateObject().isEmpty()) {
+            bulk.upsert(byId(STATUS_COUNTS_ID), counts);
+        }
+        hourly.forEach((hour, targets) -> {
+            Update update = new Update().set("hour", hour).set("expiresAt", hour.plus(hourlyRetention));
+            targets.forEach((status, count) -> update.inc("counts." + status.name(), count));
+            bulk.upsert(byId(HOURLY_ID_PREFIX + hour), update);
+        });
+        try {
+            bulk.execute();
+        } catch (RuntimeException ex) {
+            recordErrors.increment();
+            log.warn("Failed to record stats for {} order transitions", transitions.size(), ex);
+        }
+    }
+
+    // The lease lives on the counter document and is left to expire rather than released, so instances firing
+    // the same cron slot a little apart still run it once. Its own field: expiresAt carries the TTL index.
+    @Override
+    public boolean claimReconciliation(Instant now) {
+        Query query = Query.query(Criteria.where("_id").is(STATUS_COUNTS_ID)
+                .orOperator(Criteria.where("reconcilingUntil").exists(false), Criteria.where("reconcilingUntil").lt(now)));
+        try {
+            mongoTemplate.findAndModify(query, new Update().set("reconcilingUntil", now.plus(reconciliationLease)),
+                    FindAndModifyOptions.options().upsert(true), OrderStatsDocument.class);
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void adjustStatusCounts(Map<OrderStatus, Long> deltas, Instant reconciledAt) {
+        Update update = new Update().set("reconciledAt", reconciledAt);
+        deltas.forEach((status, delta) -> update.inc("counts." + status.name(), delta));
+        mongoTemplate.upsert(byId(STATUS_COUNTS_ID), update, OrderStatsDocument.class);
+    }
+
+    // Reads the counter document and at most one document per requested hour, whatever the number of orders.
+    @Override
+    public OrderStats loadStats(Instant hourlySince) {
+        OrderStatsDocument statusCounts = mongoTemplate.findById(STATUS_COUNTS_ID, OrderStatsDocument.class);
+        Query hours = Query.query(Criteria.where("hour").gte(hourlySince)).with(Sort.by("hour"));
+        List<OrderTransitionBucket> buckets = mongoTemplate.find(hours, OrderStatsDocument.class).stream()
+                .map(document -> new OrderTransitionBucket(document.getHour(), toStatusMap(document.getCounts())))
+                .toList();
+        return new OrderStats(
+                statusCounts == null ? toStatusMap(null) : toStatusMap(statusCounts.getCounts()),
+                buckets,
+                statusCounts == null ? null : statusCounts.getReconciledAt());
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countOrdersByStatus() {
+        Aggregation aggregation = Aggregation.newAggregation(Aggregation.group("status").count().as("count"));
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        mongoTemplate.aggregate(aggregation, OrderDocument.class, Document.class).forEach(group ->
+                counts.put(OrderStatus.valueOf(group.getString("_id")), ((Number) group.get("count")).longValue()));
+        return counts;
+    }
+
+    private static Map<OrderStatus, Long> toStatusMap(Map<String, Long> counts) {
+        Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, counts == null ? 0L : counts.getOrDefault(status.name(), 0L));
+        }
+        return byStatus;
+    }
+
+    private static Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+}
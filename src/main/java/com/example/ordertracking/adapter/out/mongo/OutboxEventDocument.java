@@ -0,0 +1,18 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEventDocument {
+    private String eventId;
+    private String status;
+    private Instant updatedAt;
+}
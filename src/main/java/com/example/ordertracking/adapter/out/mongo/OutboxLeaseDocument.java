@@ -0,0 +1,22 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("outbox_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxLeaseDocument {
+    @Id
+    private int partition;
+    private String owner;
+    private Instant expiresAt;
+}
@@ -0,0 +1,23 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document("outbox_relay_members")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxRelayMemberDocument {
+    @Id
+    private String instanceId;
+    @Indexed(name = "lastSeen_ttl", expireAfter = "1h")
+    private Instant lastSeen;
+}
@@ -0,0 +1,8 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.time.Instant;
+
+public record PendingOutboxEvent(String eventId, String orderId, String customerId, OrderStatus status, Instant updatedAt) {
+}
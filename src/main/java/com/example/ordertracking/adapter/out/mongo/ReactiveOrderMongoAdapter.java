@@ -0,0 +1,77 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.application.port.out.ReactiveLoadOrderPort;
+import com.example.ordertracking.application.port.out.ReactiveSaveOrderPort;
+import com.example.ordertracking.application.port.out.ReactiveSearchOrdersPort;
+import com.example.ordertracking.application.port.out.ReactiveTransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.example.ordertracking.domain.model.TrackingEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+
+// Same documents, queries and updates as OrderMongoAdapter, executed on the reactive driver.
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveOrderMongoAdapter implements ReactiveLoadOrderPort, ReactiveSaveOrderPort, ReactiveTransitionOrderStatusPort,
+        ReactiveSearchOrdersPort {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final OrderMongoAdapter orders;
+    private final OrderDocumentMapper mapper;
+    private final OrderHistoryStore historyStore;
+
+    @Override
+    public Mono<Order> findById(String orderId) {
+        return reactiveMongoTemplate.findOne(orders.byIdQuery(orderId), OrderDocument.class).map(mapper::toDomain);
+    }
+
+    @Override
+    public Mono<Order> insert(Order order) {
+        return reactiveMongoTemplate.insert(orders.toNewDocument(order))
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.empty())
+                .flatMap(inserted -> appendHistory(historyStore.sequenced(mapper.toDocument(order).getHistory(), order.version())).thenReturn(order));
+    }
+
+    @Override
+    public Mono<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note) {
+        TrackingEventDocument event = mapper.toDocument(new TrackingEvent(orderId, target.name(), at, note));
+        return reactiveMongoTemplate.findAndModify(orders.transitionQuery(orderId, target), orders.transitionUpdate(target, at, event),
+                        FindAndModifyOptions.options().returnNew(false), OrderDocument.class)
+                .flatMap(before -> appendHistory(orders.bucketEvents(before, List.of(event)))
+                        .thenReturn(new TransitionedOrder(mapper.toDomain(orders.applyTransition(before, target, at, event)),
+                                OrderStatus.valueOf(before.getStatus()))));
+    }
+
+    @Override
+    public Flux<Order> findAll(OrderSearchQuery query) {
+        return reactiveMongoTemplate.find(orders.ordersQuery(query), OrderDocument.class).map(mapper::toDomain);
+    }
+
+    @Override
+    public Flux<OrderSummary> findSummaries(OrderSearchQuery query) {
+        return reactiveMongoTemplate.find(orders.summariesQuery(query), OrderDocument.class).map(mapper::toSummary);
+    }
+
+    // The bucket store is blocking, so appends run off the driver threads.
+    private Mono<Void> appendHistory(List<TrackingEventDocument> events) {
+        if (!historyStore.bucketed() || events.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.<Void>fromRunnable(() -> historyStore.append(events)).subscribeOn(Schedulers.boundedElastic());
+    }
+}
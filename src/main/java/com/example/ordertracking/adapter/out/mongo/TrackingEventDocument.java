@@ -16,4 +16,6 @@ public class TrackingEventDocument {
     private String status;
     private Instant occurredAt;
     private String note;
+    // Position in the full history; only set on events stored in history buckets.
+    private Long sequence;
 }
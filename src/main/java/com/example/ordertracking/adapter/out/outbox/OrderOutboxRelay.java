@@ -0,0 +1,132 @@
+package com.example.ordertracking.adapter.out.outbox;
+
+import com.example.ordertracking.adapter.out.kafka.KafkaOrderEventPublisher;
+import com.example.ordertracking.adapter.out.mongo.OrderOutboxStore;
+import com.example.ordertracking.adapter.out.mongo.PendingOutboxEvent;
+import com.example.ordertracking.domain.model.Order;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+@Component
+@ConditionalOnProperty(prefix = "app.events", name = "publication-mode", havingValue = "outbox")
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutboxStore outboxStore;
+    private final KafkaOrderEventPublisher publisher;
+    private final int batchSize;
+    private final Duration leaseTtl;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentSkipListSet<Integer> ownedPartitions = new ConcurrentSkipListSet<>();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter relayed;
+
+    public OrderOutboxRelay(OrderOutboxStore outboxStore,
+                            KafkaOrderEventPublisher publisher,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.events.outbox.batch-size:1000}") int batchSize,
+                            @Value("${app.events.outbox.lease-ttl:PT30S}") Duration leaseTtl) {
+        this.outboxStore = outboxStore;
+        this.publisher = publisher;
+        this.batchSize = batchSize;
+        this.leaseTtl = leaseTtl;
+        this.relayed = meterRegistry.counter("order.outbox.relayed");
+        TimeGauge.builder("order.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get).register(meterRegistry);
+        meterRegistry.gauge("order.outbox.partitions.owned", ownedPartitions, Set::size);
+    }
+
+    @Scheduled(fixedDelayString = "${app.events.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        rebalance(Instant.now());
+        Instant deadline = Instant.now().plus(leaseTtl.dividedBy(3));
+        Instant oldestPending = null;
+        for (int partition : ownedPartitions) {
+            drain(partition, deadline);
+            Instant pendingSince = outboxStore.oldestPending(partition).orElse(null);
+            if (pendingSince != null && (oldestPending == null || pendingSince.isBefore(oldestPending))) {
+                oldestPending = pendingSince;
+            }
+        }
+        lagMillis.set(oldestPending == null ? 0 : Math.max(0, Duration.between(oldestPending, Instant.now()).toMillis()));
+    }
+
+    @PreDestroy
+    public void releaseLeases() {
+        ownedPartitions.forEach(partition -> outboxStore.releaseLease(partition, instanceId));
+        ownedPartitions.clear();
+    }
+
+    // The lease is renewed before every batch: a slow publish can outlast it, and once another relay holds the
+    // partition this one must stop reading it.
+    private void drain(int partition, Instant deadline) {
+        List<PendingOutboxEvent> events;
+        do {
+            if (!outboxStore.acquireLease(partition, instanceId, Instant.now(), leaseTtl)) {
+                ownedPartitions.remove(partition);
+                log.info("Outbox relay {} lost the lease on partition {}", instanceId, partition);
+                return;
+            }
+            events = outboxStore.pendingEvents(partition, batchSize);
+            if (events.isEmpty()) {
+                return;
+            }
+            publisher.publishStatusChanged(events.stream()
+                    .map(event -> Order.of(event.orderId(), event.customerId(), event.status(), null, event.updatedAt(), List.of()))
+                    .toList());
+            outboxStore.markSent(events);
+            relayed.increment(events.size());
+        } while (events.size() >= batchSize && Instant.now().isBefore(deadline));
+    }
+
+    // Each live relay takes an equal share of the order-id partitions; a partition is only drained by its lease holder.
+    private void rebalance(Instant now) {
+        outboxStore.heartbeat(instanceId, now);
+        int partitions = outboxStore.partitions();
+        long relays = Math.max(1, outboxStore.activeRelays(now.minus(leaseTtl)));
+        int share = (int) Math.ceil((double) partitions / relays);
+
+        ownedPartitions.removeIf(partition -> !outboxStore.acquireLease(partition, instanceId, now, leaseTtl));
+        while (ownedPartitions.size() > share) {
+            int released = ownedPartitions.pollLast();
+            outboxStore.releaseLease(released, instanceId);
+        }
+        if (ownedPartitions.size() < share) {
+            Set<Integer> leasedByOthers = outboxStore.leasedByOthers(instanceId, now);
+            List<Integer> free = new ArrayList<>(IntStream.range(0, partitions)
+                    .filter(partition -> !ownedPartitions.contains(partition) && !leasedByOthers.contains(partition))
+                    .boxed()
+                    .toList());
+            Collections.shuffle(free);
+            for (int partition : free) {
+                if (ownedPartitions.size() >= share) {
+                    break;
+                }
+                if (outboxStore.acquireLease(partition, instanceId, now, leaseTtl)) {
+                    ownedPartitions.add(partition);
+                }
+            }
+        }
+        log.debug("Outbox relay {} owns partitions {} of {}", instanceId, ownedPartitions, partitions);
+    }
+}
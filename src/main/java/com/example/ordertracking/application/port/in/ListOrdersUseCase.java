@@ -2,9 +2,17 @@ package com.example.ordertracking.application.port.in;
 
 import com.example.ordertracking.application.port.out.OrderSearchQuery;
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderSummary;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ListOrdersUseCase {
     List<Order> listOrders(OrderSearchQuery query);
+
+    OrderPage<Order> listOrderPage(OrderSearchQuery query);
+
+    OrderPage<OrderSummary> listOrderSummaryPage(OrderSearchQuery query);
+
+    Stream<OrderSummary> streamOrderSummaries(OrderSearchQuery query);
 }
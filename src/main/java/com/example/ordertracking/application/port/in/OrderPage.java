@@ -0,0 +1,6 @@
+package com.example.ordertracking.application.port.in;
+
+import java.util.List;
+
+public record OrderPage<T>(List<T> items, String nextCursor) {
+}
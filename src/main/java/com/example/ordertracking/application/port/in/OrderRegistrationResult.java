@@ -0,0 +1,19 @@
+package com.example.ordertracking.application.port.in;
+
+import com.example.ordertracking.domain.model.Order;
+
+public record OrderRegistrationResult(String orderId, Outcome outcome, Order order) {
+
+    public static OrderRegistrationResult created(Order order) {
+        return new OrderRegistrationResult(order.id(), Outcome.CREATED, order);
+    }
+
+    public static OrderRegistrationResult duplicate(String orderId) {
+        return new OrderRegistrationResult(orderId, Outcome.DUPLICATE, null);
+    }
+
+    public enum Outcome {
+        CREATED,
+        DUPLICATE
+    }
+}
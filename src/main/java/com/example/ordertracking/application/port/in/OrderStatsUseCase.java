@@ -0,0 +1,14 @@
+package com.example.ordertracking.application.port.in;
+
+import com.example.ordertracking.domain.model.OrderStats;
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.util.Map;
+import java.util.Optional;
+
+public interface OrderStatsUseCase {
+    OrderStats getStats(int hours);
+
+    // Returns the drift that was corrected, per status, or empty when another instance is reconciling.
+    Optional<Map<OrderStatus, Long>> reconcileStats();
+}
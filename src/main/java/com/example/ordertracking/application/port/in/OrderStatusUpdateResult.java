@@ -0,0 +1,31 @@
+package com.example.ordertracking.application.port.in;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+public record OrderStatusUpdateResult(String orderId, Outcome outcome, OrderStatus status, String error) {
+
+    public static OrderStatusUpdateResult applied(String orderId, OrderStatus status) {
+        return new OrderStatusUpdateResult(orderId, Outcome.APPLIED, status, null);
+    }
+
+    public static OrderStatusUpdateResult invalidTransition(String orderId, OrderStatus current, OrderStatus target) {
+        return new OrderStatusUpdateResult(orderId, Outcome.INVALID_TRANSITION, current,
+                "Invalid transition from " + current + " to " + target);
+    }
+
+    public static OrderStatusUpdateResult conflict(String orderId) {
+        return new OrderStatusUpdateResult(orderId, Outcome.CONFLICT, null,
+                "Concurrent status change on order " + orderId + ", please retry");
+    }
+
+    public static OrderStatusUpdateResult notFound(String orderId) {
+        return new OrderStatusUpdateResult(orderId, Outcome.NOT_FOUND, null, "Order not found: " + orderId);
+    }
+
+    public enum Outcome {
+        APPLIED,
+        INVALID_TRANSITION,
+        CONFLICT,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ordertracking.application.port.in;
+
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveOrderTrackingUseCase {
+    Mono<Order> register(String orderId, String customerId);
+
+    Mono<Order> getById(String orderId);
+
+    Mono<Order> updateStatus(String orderId, OrderStatus target, String note);
+
+    Mono<OrderPage<OrderSummary>> listOrderSummaryPage(OrderSearchQuery query);
+}
@@ -0,0 +1,4 @@
+package com.example.ordertracking.application.port.in;
+
+public record RegisterOrderCommand(String orderId, String customerId) {
+}
@@ -2,6 +2,10 @@ package com.example.ordertracking.application.port.in;
 
 import com.example.ordertracking.domain.model.Order;
 
+import java.util.List;
+
 public interface RegisterOrderUseCase {
     Order register(String orderId, String customerId);
+
+    List<OrderRegistrationResult> registerAll(List<RegisterOrderCommand> commands);
 }
@@ -0,0 +1,9 @@
+package com.example.ordertracking.application.port.in;
+
+import com.example.ordertracking.domain.model.TrackingEvent;
+
+import java.util.List;
+
+public interface TrackOrderHistoryUseCase {
+    List<TrackingEvent> getHistory(String orderId, int page, int size);
+}
@@ -1,7 +1,10 @@
 package com.example.ordertracking.application.port.in;
 
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
 
 public interface TrackOrderUseCase {
     Order getById(String orderId);
+
+    OrderRevision getRevision(String orderId);
 }
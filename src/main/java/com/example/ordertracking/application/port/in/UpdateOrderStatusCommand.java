@@ -0,0 +1,6 @@
+package com.example.ordertracking.application.port.in;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+public record UpdateOrderStatusCommand(String orderId, OrderStatus status, String note) {
+}
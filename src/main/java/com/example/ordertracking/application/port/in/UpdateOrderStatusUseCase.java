@@ -3,6 +3,10 @@ package com.example.ordertracking.application.port.in;
 import com.example.ordertracking.domain.model.Order;
 import com.example.ordertracking.domain.model.OrderStatus;
 
+import java.util.List;
+
 public interface UpdateOrderStatusUseCase {
     Order updateStatus(String orderId, OrderStatus target, String note);
+
+    List<OrderStatusUpdateResult> updateStatuses(List<UpdateOrderStatusCommand> commands);
 }
@@ -0,0 +1,10 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.TrackingEvent;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LoadOrderHistoryPort {
+    Optional<List<TrackingEvent>> findHistory(String orderId, int page, int size);
+}
@@ -0,0 +1,9 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderRevision;
+
+import java.util.Optional;
+
+public interface LoadOrderRevisionPort {
+    Optional<OrderRevision> findRevision(String orderId);
+}
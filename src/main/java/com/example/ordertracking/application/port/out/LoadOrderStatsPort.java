@@ -0,0 +1,13 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderStats;
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+public interface LoadOrderStatsPort {
+    OrderStats loadStats(Instant hourlySince);
+
+    Map<OrderStatus, Long> countOrdersByStatus();
+}
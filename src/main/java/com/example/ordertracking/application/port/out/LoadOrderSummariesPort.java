@@ -0,0 +1,10 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderSummary;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface LoadOrderSummariesPort {
+    List<OrderSummary> findSummariesByIds(Collection<String> orderIds);
+}
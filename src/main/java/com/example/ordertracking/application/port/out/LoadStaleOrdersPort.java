@@ -1,10 +1,10 @@
 package com.example.ordertracking.application.port.out;
 
-import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderSummary;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.stream.Stream;
 
 public interface LoadStaleOrdersPort {
-    List<Order> findShippedBefore(Instant before);
+    Stream<OrderSummary> streamShippedBefore(Instant before);
 }
@@ -0,0 +1,39 @@
+package com.example.ordertracking.application.port.out;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+public record OrderSearchCursor(String sortField, boolean ascending, Instant sortValue, String id) {
+
+    private static final String VERSION = "v1";
+
+    public static OrderSearchCursor after(OrderSearchQuery query, Instant sortValue, String id) {
+        return new OrderSearchCursor(query.sortField(), query.ascending(), sortValue, id);
+    }
+
+    public static OrderSearchCursor decode(OrderSearchQuery query) {
+        OrderSearchCursor cursor = parse(query.cursor());
+        if (!cursor.sortField().equals(query.sortField()) || cursor.ascending() != query.ascending()) {
+            throw new IllegalArgumentException("Cursor does not match sort " + query.sortField() + " " + query.sortDir());
+        }
+        return cursor;
+    }
+
+    private static OrderSearchCursor parse(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 5);
+            if (parts.length == 5 && VERSION.equals(parts[0])) {
+                return new OrderSearchCursor(parts[1], "asc".equals(parts[2]), Instant.parse(parts[3]), parts[4]);
+            }
+        } catch (RuntimeException ignored) {
+            // reported below as an invalid cursor
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + token);
+    }
+
+    public String encode() {
+        String raw = String.join("|", VERSION, sortField, ascending ? "asc" : "desc", sortValue.toString(), id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -10,16 +10,39 @@ public record OrderSearchQuery(String orderIdContains,
                                int page,
                                int size,
                                String sortBy,
-                               String sortDir) {
+                               String sortDir,
+                               String cursor) {
     public OrderSearchQuery {
         int normalizedPage = Math.max(page, 0);
         int normalizedSize = size <= 0 ? 50 : Math.min(size, 500);
         String normalizedSortBy = (sortBy == null || sortBy.isBlank()) ? "updatedAt" : sortBy;
         String normalizedSortDir = (sortDir == null || sortDir.isBlank()) ? "desc" : sortDir;
+        String normalizedCursor = (cursor == null || cursor.isBlank()) ? null : cursor;
 
         page = normalizedPage;
         size = normalizedSize;
         sortBy = normalizedSortBy;
         sortDir = normalizedSortDir;
+        cursor = normalizedCursor;
+    }
+
+    public OrderSearchQuery(String orderIdContains,
+                            String customerIdContains,
+                            String status,
+                            Instant updatedFrom,
+                            Instant updatedTo,
+                            int page,
+                            int size,
+                            String sortBy,
+                            String sortDir) {
+        this(orderIdContains, customerIdContains, status, updatedFrom, updatedTo, page, size, sortBy, sortDir, null);
+    }
+
+    public String sortField() {
+        return "createdAt".equalsIgnoreCase(sortBy) ? "createdAt" : "updatedAt";
+    }
+
+    public boolean ascending() {
+        return "asc".equalsIgnoreCase(sortDir);
     }
 }
@@ -0,0 +1,14 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.time.Instant;
+
+public record OrderStatusTransition(
+        String orderId,
+        OrderStatus from,
+        OrderStatus to,
+        Instant at,
+        String note
+) {
+}
@@ -2,6 +2,16 @@ package com.example.ordertracking.application.port.out;
 
 import com.example.ordertracking.domain.model.Order;
 
+import java.util.List;
+
 public interface PublishOrderEventPort {
     void publishStatusChanged(Order order);
+
+    default void publishStatusChanged(List<Order> orders) {
+        orders.forEach(this::publishStatusChanged);
+    }
+
+    // Called before the write that produces the events; throws RejectedExecutionException when they could not be taken.
+    default void ensureCapacity(int events) {
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.Order;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveLoadOrderPort {
+    Mono<Order> findById(String orderId);
+}
@@ -0,0 +1,12 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.Order;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePublishOrderEventPort {
+    Mono<Void> publishStatusChanged(Order order);
+
+    // Called before the write that produces the event; throws RejectedExecutionException when it could not be taken.
+    default void ensureCapacity() {
+    }
+}
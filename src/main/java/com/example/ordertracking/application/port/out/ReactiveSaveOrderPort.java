@@ -0,0 +1,9 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.Order;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSaveOrderPort {
+    // Completes empty when an order with the same id already exists.
+    Mono<Order> insert(Order order);
+}
@@ -0,0 +1,11 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderSummary;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveSearchOrdersPort {
+    Flux<Order> findAll(OrderSearchQuery query);
+
+    Flux<OrderSummary> findSummaries(OrderSearchQuery query);
+}
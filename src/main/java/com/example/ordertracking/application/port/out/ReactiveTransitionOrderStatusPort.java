@@ -0,0 +1,10 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+public interface ReactiveTransitionOrderStatusPort {
+    Mono<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note);
+}
@@ -0,0 +1,18 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public interface RecordOrderStatsPort {
+    // A transition with a null source is a registration.
+    void recordTransitions(List<OrderStatusTransition> transitions);
+
+    // Runs at most one reconciliation across instances; false while another one holds the lease.
+    boolean claimReconciliation(Instant now);
+
+    // Applied with $inc so increments recorded while the aggregation ran are kept.
+    void adjustStatusCounts(Map<OrderStatus, Long> deltas, Instant reconciledAt);
+}
@@ -2,6 +2,10 @@ package com.example.ordertracking.application.port.out;
 
 import com.example.ordertracking.domain.model.Order;
 
+import java.util.List;
+
 public interface SaveOrderPort {
     Order save(Order order);
+
+    List<Order> insertAll(List<Order> orders);
 }
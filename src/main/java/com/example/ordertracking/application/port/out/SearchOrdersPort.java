@@ -1,9 +1,16 @@
 package com.example.ordertracking.application.port.out;
 
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderSummary;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface SearchOrdersPort {
     List<Order> findAll(OrderSearchQuery query);
+
+    List<OrderSummary> findSummaries(OrderSearchQuery query);
+
+    // Every match in sort order, ignoring paging; the caller must close the stream.
+    Stream<OrderSummary> streamSummaries(OrderSearchQuery query);
 }
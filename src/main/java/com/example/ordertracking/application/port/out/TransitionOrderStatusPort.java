@@ -0,0 +1,13 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.OrderStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface TransitionOrderStatusPort {
+    Optional<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note);
+
+    List<OrderStatusTransition> transitionAll(List<OrderStatusTransition> transitions);
+}
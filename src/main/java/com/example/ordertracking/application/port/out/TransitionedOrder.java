@@ -0,0 +1,8 @@
+package com.example.ordertracking.application.port.out;
+
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+
+// The order after a conditional status change, with the source status the change matched.
+public record TransitionedOrder(Order order, OrderStatus from) {
+}
@@ -0,0 +1,56 @@
+package com.example.ordertracking.application.service;
+
+import com.example.ordertracking.application.port.in.OrderStatsUseCase;
+import com.example.ordertracking.application.port.out.LoadOrderStatsPort;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
+import com.example.ordertracking.domain.model.OrderStats;
+import com.example.ordertracking.domain.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class OrderStatsService implements OrderStatsUseCase {
+
+    private static final int MAX_HOURS = 168;
+
+    private final LoadOrderStatsPort loadOrderStatsPort;
+    private final RecordOrderStatsPort recordOrderStatsPort;
+
+
+    @Override
+    public OrderStats getStats(int hours) {
+        int window = Math.clamp(hours, 1, MAX_HOURS);
+        Instant since = Instant.now().truncatedTo(ChronoUnit.HOURS).minus(window - 1L, ChronoUnit.HOURS);
+        return loadOrderStatsPort.loadStats(since);
+    }
+
+    @Override
+    public Optional<Map<OrderStatus, Long>> reconcileStats() {
+        Instant now = Instant.now();
+        if (!recordOrderStatsPort.claimReconciliation(now)) {
+            return Optional.empty();
+        }
+        // The counters are read before the aggregation and only the difference is applied, so a concurrent
+        // increment is never overwritten. A transition landing during the aggregation can be counted twice;
+        // the next run takes it back out.
+        Map<OrderStatus, Long> recorded = loadOrderStatsPort.loadStats(now).countsByStatus();
+        Map<OrderStatus, Long> actual = loadOrderStatsPort.countOrdersByStatus();
+
+        Map<OrderStatus, Long> drift = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            long delta = actual.getOrDefault(status, 0L) - recorded.getOrDefault(status, 0L);
+            if (delta != 0) {
+                drift.put(status, delta);
+            }
+        }
+        recordOrderStatsPort.adjustStatusCounts(drift, now);
+        return Optional.of(drift);
+    }
+}
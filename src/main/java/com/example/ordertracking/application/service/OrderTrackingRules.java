@@ -0,0 +1,38 @@
+package com.example.ordertracking.application.service;
+
+import com.example.ordertracking.application.port.out.OrderSearchCursor;
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+
+import java.time.Instant;
+
+// Outcomes shared by the blocking and the reactive services so both report the same errors and cursors.
+final class OrderTrackingRules {
+
+    private OrderTrackingRules() {
+    }
+
+    static IllegalStateException alreadyExists(String orderId) {
+        return new IllegalStateException("Order already exists: " + orderId);
+    }
+
+    static IllegalArgumentException notFound(String orderId) {
+        return new IllegalArgumentException("Order not found: " + orderId);
+    }
+
+    static IllegalStateException rejectedTransition(String orderId, OrderStatus current, OrderStatus target) {
+        if (current.canTransitionTo(target)) {
+            return new IllegalStateException("Concurrent status change on order " + orderId + ", please retry");
+        }
+        return new IllegalStateException("Invalid transition from " + current + " to " + target);
+    }
+
+    static String nextCursor(OrderSearchQuery query, int pageSize, OrderSummary last) {
+        if (pageSize < query.size()) {
+            return null;
+        }
+        Instant sortValue = "createdAt".equals(query.sortField()) ? last.createdAt() : last.updatedAt();
+        return OrderSearchCursor.after(query, sortValue, last.id()).encode();
+    }
+}
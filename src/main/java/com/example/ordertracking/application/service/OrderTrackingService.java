@@ -1,76 +1,263 @@
 package com.example.ordertracking.application.service;
 
 import com.example.ordertracking.application.port.in.ListOrdersUseCase;
+import com.example.ordertracking.application.port.in.OrderPage;
+import com.example.ordertracking.application.port.in.OrderRegistrationResult;
+import com.example.ordertracking.application.port.in.OrderStatusUpdateResult;
+import com.example.ordertracking.application.port.in.RegisterOrderCommand;
 import com.example.ordertracking.application.port.in.RegisterOrderUseCase;
+import com.example.ordertracking.application.port.in.TrackOrderHistoryUseCase;
 import com.example.ordertracking.application.port.in.TrackOrderUseCase;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusCommand;
 import com.example.ordertracking.application.port.in.UpdateOrderStatusUseCase;
+import com.example.ordertracking.application.port.out.LoadOrderHistoryPort;
 import com.example.ordertracking.application.port.out.LoadOrderPort;
+import com.example.ordertracking.application.port.out.LoadOrderRevisionPort;
+import com.example.ordertracking.application.port.out.LoadOrderSummariesPort;
 import com.example.ordertracking.application.port.out.LoadStaleOrdersPort;
 import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
 import com.example.ordertracking.application.port.out.PublishOrderEventPort;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
 import com.example.ordertracking.application.port.out.SaveOrderPort;
 import com.example.ordertracking.application.port.out.SearchOrdersPort;
+import com.example.ordertracking.application.port.out.TransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.example.ordertracking.domain.model.TrackingEvent;
 import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Observed(name = "order.tracking.service")
 @RequiredArgsConstructor
-public class OrderTrackingService implements RegisterOrderUseCase, TrackOrderUseCase, UpdateOrderStatusUseCase, ListOrdersUseCase {
+public class OrderTrackingService implements RegisterOrderUseCase, TrackOrderUseCase, UpdateOrderStatusUseCase, ListOrdersUseCase,
+        TrackOrderHistoryUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderTrackingService.class);
 
     private final LoadOrderPort loadOrderPort;
     private final SaveOrderPort saveOrderPort;
     private final PublishOrderEventPort publishOrderEventPort;
     private final LoadStaleOrdersPort loadStaleOrdersPort;
     private final SearchOrdersPort searchOrdersPort;
+    private final TransitionOrderStatusPort transitionOrderStatusPort;
+    private final LoadOrderHistoryPort loadOrderHistoryPort;
+    private final LoadOrderSummariesPort loadOrderSummariesPort;
+    private final LoadOrderRevisionPort loadOrderRevisionPort;
+    private final RecordOrderStatsPort recordOrderStatsPort;
 
 
     @Override
     public Order register(String orderId, String customerId) {
         loadOrderPort.findById(orderId).ifPresent(existing -> {
-            throw new IllegalStateException("Order already exists: " + orderId);
+            throw OrderTrackingRules.alreadyExists(orderId);
         });
         Order order = Order.create(orderId, customerId);
+        publishOrderEventPort.ensureCapacity(1);
         Order saved = saveOrderPort.save(order);
-        publishOrderEventPort.publishStatusChanged(saved);
+        afterWrite(() -> publishOrderEventPort.publishStatusChanged(saved), List.of(registrationOf(saved)));
         return saved;
     }
 
+    @Override
+    public List<OrderRegistrationResult> registerAll(List<RegisterOrderCommand> commands) {
+        Set<String> requested = new HashSet<>();
+        List<Order> candidates = commands.stream()
+                .filter(command -> requested.add(command.orderId()))
+                .map(command -> Order.create(command.orderId(), command.customerId()))
+                .toList();
+        publishOrderEventPort.ensureCapacity(candidates.size());
+        List<Order> inserted = saveOrderPort.insertAll(candidates);
+        afterWrite(() -> publishOrderEventPort.publishStatusChanged(inserted),
+                inserted.stream().map(OrderTrackingService::registrationOf).toList());
+
+        Map<String, Order> created = inserted.stream().collect(Collectors.toMap(Order::id, Function.identity()));
+        return commands.stream()
+                .map(command -> {
+                    Order order = created.remove(command.orderId());
+                    return order != null ? OrderRegistrationResult.created(order) : OrderRegistrationResult.duplicate(command.orderId());
+                })
+                .toList();
+    }
+
     @Override
     public Order getById(String orderId) {
         return loadOrderPort.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
+                .orElseThrow(() -> OrderTrackingRules.notFound(orderId));
+    }
+
+    @Override
+    public OrderRevision getRevision(String orderId) {
+        return loadOrderRevisionPort.findRevision(orderId)
+                .orElseThrow(() -> OrderTrackingRules.notFound(orderId));
+    }
+
+    @Override
+    public List<TrackingEvent> getHistory(String orderId, int page, int size) {
+        int normalizedSize = size <= 0 ? 50 : Math.min(size, 500);
+        return loadOrderHistoryPort.findHistory(orderId, Math.max(page, 0), normalizedSize)
+                .orElseThrow(() -> OrderTrackingRules.notFound(orderId));
     }
 
     @Override
     public Order updateStatus(String orderId, OrderStatus target, String note) {
-        Order order = getById(orderId);
-        order.transitionTo(target, Instant.now(), note);
-        Order saved = saveOrderPort.save(order);
-        publishOrderEventPort.publishStatusChanged(saved);
+        publishOrderEventPort.ensureCapacity(1);
+        TransitionedOrder transitioned = transitionOrderStatusPort.transition(orderId, target, Instant.now(), note)
+                .orElseThrow(() -> OrderTrackingRules.rejectedTransition(orderId, getById(orderId).status(), target));
+        Order saved = transitioned.order();
+        afterWrite(() -> publishOrderEventPort.publishStatusChanged(saved), List.of(
+                new OrderStatusTransition(orderId, transitioned.from(), target, saved.updatedAt(), note)));
         return saved;
     }
 
+    @Override
+    public List<OrderStatusUpdateResult> updateStatuses(List<UpdateOrderStatusCommand> commands) {
+        Instant now = Instant.now();
+        Set<String> orderIds = commands.stream().map(UpdateOrderStatusCommand::orderId).collect(Collectors.toSet());
+        Map<String, OrderSummary> current = loadOrderSummariesPort.findSummariesByIds(orderIds).stream()
+                .collect(Collectors.toMap(OrderSummary::id, Function.identity()));
+
+        Map<String, OrderStatus> expected = new HashMap<>();
+        current.values().forEach(summary -> expected.put(summary.id(), summary.status()));
+        OrderStatusUpdateResult[] results = new OrderStatusUpdateResult[commands.size()];
+        List<OrderStatusTransition> transitions = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < commands.size(); i++) {
+            UpdateOrderStatusCommand command = commands.get(i);
+            OrderStatus from = expected.get(command.orderId());
+            if (from == null) {
+                results[i] = OrderStatusUpdateResult.notFound(command.orderId());
+            } else if (!from.canTransitionTo(command.status())) {
+                results[i] = OrderStatusUpdateResult.invalidTransition(command.orderId(), from, command.status());
+            } else {
+                transitions.add(new OrderStatusTransition(command.orderId(), from, command.status(), now, command.note()));
+                positions.add(i);
+                expected.put(command.orderId(), command.status());
+            }
+        }
+
+        publishOrderEventPort.ensureCapacity(transitions.size());
+        Set<OrderStatusTransition> applied = transitions.isEmpty()
+                ? Set.of()
+                : new HashSet<>(transitionOrderStatusPort.transitionAll(transitions));
+        List<Order> changed = new ArrayList<>(applied.size());
+        List<OrderStatusTransition> appliedInOrder = new ArrayList<>(applied.size());
+        for (int i = 0; i < transitions.size(); i++) {
+            OrderStatusTransition transition = transitions.get(i);
+            if (applied.contains(transition)) {
+                appliedInOrder.add(transition);
+                OrderSummary summary = current.get(transition.orderId());
+                Order order = Order.of(summary.id(), summary.customerId(), transition.from(), summary.createdAt(), summary.updatedAt(), List.of());
+                order.transitionTo(transition.to(), now, transition.note());
+                changed.add(order);
+                results[positions.get(i)] = OrderStatusUpdateResult.applied(transition.orderId(), transition.to());
+            } else {
+                results[positions.get(i)] = OrderStatusUpdateResult.conflict(transition.orderId());
+            }
+        }
+        afterWrite(() -> publishOrderEventPort.publishStatusChanged(changed), appliedInOrder);
+        return List.of(results);
+    }
+
     @Override
     public List<Order> listOrders(OrderSearchQuery query) {
         return searchOrdersPort.findAll(query);
     }
 
-    public int autoCompleteDeliveredForStaleShippedOrders() {
+    @Override
+    public OrderPage<Order> listOrderPage(OrderSearchQuery query) {
+        List<Order> orders = searchOrdersPort.findAll(query);
+        return new OrderPage<>(orders, orders.isEmpty() ? null : OrderTrackingRules.nextCursor(query, orders.size(), orders.getLast().summary()));
+    }
+
+    @Override
+    public OrderPage<OrderSummary> listOrderSummaryPage(OrderSearchQuery query) {
+        List<OrderSummary> summaries = searchOrdersPort.findSummaries(query);
+        return new OrderPage<>(summaries, summaries.isEmpty() ? null : OrderTrackingRules.nextCursor(query, summaries.size(), summaries.getLast()));
+    }
+
+    @Override
+    public Stream<OrderSummary> streamOrderSummaries(OrderSearchQuery query) {
+        return searchOrdersPort.streamSummaries(query);
+    }
+
+    public int autoCompleteDeliveredForStaleShippedOrders(int chunkSize) {
         Instant threshold = Instant.now().minus(7, ChronoUnit.DAYS);
-        List<Order> staleOrders = loadStaleOrdersPort.findShippedBefore(threshold);
-        staleOrders.forEach(order -> {
-            order.transitionTo(OrderStatus.DELIVERED, Instant.now(), "Auto-complete by batch job");
-            Order saved = saveOrderPort.save(order);
-            publishOrderEventPort.publishStatusChanged(saved);
-        });
-        return staleOrders.size();
+        int completed = 0;
+        try (Stream<OrderSummary> candidates = loadStaleOrdersPort.streamShippedBefore(threshold)) {
+            Iterator<OrderSummary> iterator = candidates.iterator();
+            List<OrderSummary> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    completed += completeDelivered(chunk);
+                    chunk.clear();
+                }
+            }
+        }
+        return completed;
+    }
+
+    private int completeDelivered(List<OrderSummary> chunk) {
+        Instant now = Instant.now();
+        String note = "Auto-complete by batch job";
+        List<OrderStatusTransition> transitions = chunk.stream()
+                .map(summary -> new OrderStatusTransition(summary.id(), OrderStatus.SHIPPED, OrderStatus.DELIVERED, now, note))
+                .toList();
+        publishOrderEventPort.ensureCapacity(transitions.size());
+        List<OrderStatusTransition> appliedTransitions = transitionOrderStatusPort.transitionAll(transitions);
+        Set<String> applied = appliedTransitions.stream()
+                .map(OrderStatusTransition::orderId)
+                .collect(Collectors.toSet());
+        List<Order> delivered = new ArrayList<>(applied.size());
+        for (OrderSummary summary : chunk) {
+            if (applied.contains(summary.id())) {
+                Order order = Order.of(summary.id(), summary.customerId(), summary.status(), summary.createdAt(), summary.updatedAt(), List.of());
+                order.transitionTo(OrderStatus.DELIVERED, now, note);
+                delivered.add(order);
+            }
+        }
+        afterWrite(() -> publishOrderEventPort.publishStatusChanged(delivered), appliedTransitions);
+        return delivered.size();
+    }
+
+    // Runs once the orders are written: failing the call now would make its caller (a client, the carrier listener's
+    // batch retry) replay changes that were applied. Failed sends are logged and counted by the publisher, and the
+    // stats reconciliation rebuilds counters that missed an update.
+    private void afterWrite(Runnable publish, List<OrderStatusTransition> transitions) {
+        try {
+            publish.run();
+        } catch (RuntimeException ex) {
+            log.warn("Status events of {} committed transition(s) were not all published", transitions.size(), ex);
+        }
+        try {
+            recordOrderStatsPort.recordTransitions(transitions);
+        } catch (RuntimeException ex) {
+            log.warn("Could not record {} committed transition(s) in the order stats", transitions.size(), ex);
+        }
+    }
+
+    private static OrderStatusTransition registrationOf(Order order) {
+        return new OrderStatusTransition(order.id(), null, order.status(), order.createdAt(), null);
     }
 }
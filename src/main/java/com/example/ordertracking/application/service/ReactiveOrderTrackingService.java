@@ -0,0 +1,94 @@
+package com.example.ordertracking.application.service;
+
+import com.example.ordertracking.application.port.in.OrderPage;
+import com.example.ordertracking.application.port.in.ReactiveOrderTrackingUseCase;
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
+import com.example.ordertracking.application.port.out.ReactiveLoadOrderPort;
+import com.example.ordertracking.application.port.out.ReactivePublishOrderEventPort;
+import com.example.ordertracking.application.port.out.ReactiveSaveOrderPort;
+import com.example.ordertracking.application.port.out.ReactiveSearchOrdersPort;
+import com.example.ordertracking.application.port.out.ReactiveTransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+
+@Service
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReactiveOrderTrackingService implements ReactiveOrderTrackingUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveOrderTrackingService.class);
+
+    private final ReactiveLoadOrderPort loadOrderPort;
+    private final ReactiveSaveOrderPort saveOrderPort;
+    private final ReactiveTransitionOrderStatusPort transitionOrderStatusPort;
+    private final ReactiveSearchOrdersPort searchOrdersPort;
+    private final ReactivePublishOrderEventPort publishOrderEventPort;
+    private final RecordOrderStatsPort recordOrderStatsPort;
+
+    @Override
+    public Mono<Order> register(String orderId, String customerId) {
+        return Mono.fromRunnable(publishOrderEventPort::ensureCapacity)
+                .then(saveOrderPort.insert(Order.create(orderId, customerId)))
+                .switchIfEmpty(Mono.error(() -> OrderTrackingRules.alreadyExists(orderId)))
+                .flatMap(saved -> afterWrite(saved, new OrderStatusTransition(orderId, null, saved.status(), saved.createdAt(), null)));
+    }
+
+    @Override
+    public Mono<Order> getById(String orderId) {
+        return loadOrderPort.findById(orderId)
+                .switchIfEmpty(Mono.error(() -> OrderTrackingRules.notFound(orderId)));
+    }
+
+    @Override
+    public Mono<Order> updateStatus(String orderId, OrderStatus target, String note) {
+        return Mono.fromRunnable(publishOrderEventPort::ensureCapacity)
+                .then(transitionOrderStatusPort.transition(orderId, target, Instant.now(), note))
+                .switchIfEmpty(Mono.defer(() -> getById(orderId)
+                        .flatMap(current -> Mono.error(OrderTrackingRules.rejectedTransition(orderId, current.status(), target)))))
+                .flatMap(transitioned -> afterWrite(transitioned.order(), new OrderStatusTransition(orderId, transitioned.from(),
+                        target, transitioned.order().updatedAt(), note)));
+    }
+
+    @Override
+    public Mono<OrderPage<OrderSummary>> listOrderSummaryPage(OrderSearchQuery query) {
+        return searchOrdersPort.findSummaries(query)
+                .collectList()
+                .map(summaries -> new OrderPage<>(summaries,
+                        summaries.isEmpty() ? null : OrderTrackingRules.nextCursor(query, summaries.size(), summaries.getLast())));
+    }
+
+    // Same rule as the blocking service: once the order is written, a failed send or stats update is logged,
+    // not returned, or the client's retry would hit the transition it already made.
+    private Mono<Order> afterWrite(Order saved, OrderStatusTransition transition) {
+        return Mono.defer(() -> publishOrderEventPort.publishStatusChanged(saved))
+                .onErrorResume(ex -> {
+                    log.warn("Status event of committed order {} was not published", saved.id(), ex);
+                    return Mono.empty();
+                })
+                .then(recordStats(transition).onErrorResume(ex -> {
+                    log.warn("Could not record the committed transition of order {} in the order stats", saved.id(), ex);
+                    return Mono.empty();
+                }))
+                .thenReturn(saved);
+    }
+
+    // The stats store is shared with the blocking service and its writes block.
+    private Mono<Void> recordStats(OrderStatusTransition transition) {
+        return Mono.fromRunnable(() -> recordOrderStatsPort.recordTransitions(List.of(transition)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+}
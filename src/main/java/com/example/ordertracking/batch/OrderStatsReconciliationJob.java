@@ -0,0 +1,45 @@
+package com.example.ordertracking.batch;
+
+import com.example.ordertracking.application.port.in.OrderStatsUseCase;
+import com.example.ordertracking.domain.model.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+// Corrects the incremental status counters against a group-by over orders, catching writes that bypassed the
+// service (manual fixes, failed counter updates). Only the instance holding the reconciliation lease runs it.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.orders.stats", name = "reconciliation-enabled", havingValue = "true", matchIfMissing = true)
+public class OrderStatsReconciliationJob {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsReconciliationJob.class);
+
+    private final OrderStatsUseCase orderStatsUseCase;
+    private final MeterRegistry meterRegistry;
+
+
+    @Scheduled(cron = "${app.jobs.order-stats-reconciliation-cron:0 5 * * * *}")
+    public void execute() {
+        Optional<Map<OrderStatus, Long>> reconciled = orderStatsUseCase.reconcileStats();
+        if (reconciled.isEmpty()) {
+            log.debug("Order stats reconciliation already running on another instance");
+            return;
+        }
+        Map<OrderStatus, Long> drift = reconciled.get();
+        drift.forEach((status, delta) ->
+                meterRegistry.counter("order.stats.reconciled.drift", "status", status.name()).increment(Math.abs(delta)));
+        if (drift.isEmpty()) {
+            log.info("Order stats reconciliation found no drift");
+        } else {
+            log.warn("Order stats reconciliation corrected drift {}", drift);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -16,11 +17,13 @@ public class StaleOrderCompletionJob {
 
     private final OrderTrackingService service;
     private final MeterRegistry meterRegistry;
+    @Value("${app.jobs.stale-order-completion-chunk-size:500}")
+    private int chunkSize;
 
 
     @Scheduled(cron = "${app.jobs.stale-order-completion-cron:0 0/30 * * * *}")
     public void execute() {
-        int processed = service.autoCompleteDeliveredForStaleShippedOrders();
+        int processed = service.autoCompleteDeliveredForStaleShippedOrders(chunkSize);
         meterRegistry.counter("order.batch.stale.completed", "result", "success").increment(processed);
         log.info("Stale order completion job processed {} orders", processed);
     }
@@ -0,0 +1,60 @@
+package com.example.ordertracking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Signs the authorities of an already authenticated principal, so a bearer request is granted exactly what Basic grants.
+@Component
+public class AccessTokenIssuer {
+
+    private final JwtEncoder accessTokenEncoder;
+    private final Duration ttl;
+    private final boolean enabled;
+    private final Counter issued;
+
+    public AccessTokenIssuer(JwtEncoder accessTokenEncoder,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.security.token.ttl:PT15M}") Duration ttl,
+                             @Value("${app.security.token.secret:}") String secret) {
+        this.accessTokenEncoder = accessTokenEncoder;
+        this.ttl = ttl;
+        this.enabled = secret != null && !secret.isBlank();
+        this.issued = meterRegistry.counter("order.auth.tokens.issued");
+    }
+
+    public Jwt issue(Authentication authentication) {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer(SecurityConfig.TOKEN_ISSUER)
+                .subject(authentication.getName())
+                .issuedAt(now)
+                .expiresAt(now.plus(ttl))
+                .claim(SecurityConfig.ROLES_CLAIM, authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
+                .build();
+        Jwt jwt = accessTokenEncoder.encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims));
+        issued.increment();
+        return jwt;
+    }
+
+    // Tokens are only issued with a secret shared by every instance, otherwise a bearer fails on the next node.
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public Duration ttl() {
+        return ttl;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.ordertracking.config;
 
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,6 +13,14 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.boot.autoconfigure.security.servlet.PathRequest;
@@ -17,9 +28,19 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.SecureRandom;
+import java.util.Base64;
+
 @Configuration
 public class SecurityConfig {
 
+    static final String TOKEN_ISSUER = "order-tracking";
+    static final String ROLES_CLAIM = "roles";
+
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Bean
     SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
@@ -39,6 +60,7 @@ public class SecurityConfig {
                         .anyRequest().permitAll()
                 )
                 .httpBasic(Customizer.withDefaults())
+                .oauth2ResourceServer(oauth2 -> oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(accessTokenAuthenticationConverter())))
                 .build();
     }
 
@@ -50,7 +72,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(java.util.Arrays.asList(allowedOrigins.split(",")));
         config.setAllowedMethods(java.util.List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(java.util.List.of("Authorization", "Content-Type"));
-        config.setExposedHeaders(java.util.List.of("Location"));
+        config.setExposedHeaders(java.util.List.of("Location", "X-Next-Cursor"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -70,6 +92,46 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(user);
     }
 
+    // HS256 needs at least 256 bits. Without a configured secret no token is issued (AccessTokenIssuer): a per-instance
+    // key would only be valid on the instance that signed it. The random key just keeps the bearer decoder rejecting.
+    @Bean
+    SecretKey accessTokenKey(@Value("${app.security.token.secret:}") String secret) {
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            log.warn("app.security.token.secret is not set, /api/auth/token is disabled until a shared secret is configured");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret.trim());
+        }
+        if (key.length < 32) {
+            throw new IllegalStateException("app.security.token.secret must decode to at least 32 bytes");
+        }
+        return new SecretKeySpec(key, "HmacSHA256");
+    }
+
+    @Bean
+    JwtEncoder accessTokenEncoder(SecretKey accessTokenKey) {
+        return new NimbusJwtEncoder(new ImmutableSecret<>(accessTokenKey));
+    }
+
+    // Verifying a bearer is one HMAC plus expiry and issuer checks, instead of a password hash per request.
+    @Bean
+    JwtDecoder accessTokenDecoder(SecretKey accessTokenKey) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(accessTokenKey).macAlgorithm(MacAlgorithm.HS256).build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(TOKEN_ISSUER));
+        return decoder;
+    }
+
+    private JwtAuthenticationConverter accessTokenAuthenticationConverter() {
+        JwtGrantedAuthoritiesConverter authorities = new JwtGrantedAuthoritiesConverter();
+        authorities.setAuthoritiesClaimName(ROLES_CLAIM);
+        authorities.setAuthorityPrefix("");
+        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+        converter.setJwtGrantedAuthoritiesConverter(authorities);
+        return converter;
+    }
+
     @Bean
     PasswordEncoder passwordEncoder() {
         return org.springframework.security.crypto.factory.PasswordEncoderFactories.createDelegatingPasswordEncoder();
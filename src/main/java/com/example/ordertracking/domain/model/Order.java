@@ -23,6 +23,9 @@ public class Order {
     private final Instant createdAt;
     @Setter(AccessLevel.NONE)
     private Instant updatedAt;
+    // Incremented by every status change; together with updatedAt it identifies one state of the order.
+    @Setter(AccessLevel.NONE)
+    private long version;
     @Getter(AccessLevel.NONE)
     @Builder.Default
     private final List<TrackingEvent> history = new ArrayList<>();
@@ -57,9 +60,18 @@ public class Order {
         }
         this.status = target;
         this.updatedAt = at;
+        this.version++;
         this.history.add(new TrackingEvent(id, target.name(), at, note));
     }
 
+    public OrderSummary summary() {
+        return new OrderSummary(id, customerId, status, createdAt, updatedAt);
+    }
+
+    public OrderRevision revision() {
+        return new OrderRevision(id, version, updatedAt);
+    }
+
     public String id() { return id; }
 
     public String customerId() { return customerId; }
@@ -70,5 +82,7 @@ public class Order {
 
     public Instant updatedAt() { return updatedAt; }
 
+    public long version() { return version; }
+
     public List<TrackingEvent> history() { return List.copyOf(history); }
 }
@@ -0,0 +1,10 @@
+package com.example.ordertracking.domain.model;
+
+import java.time.Instant;
+
+public record OrderRevision(
+        String id,
+        long version,
+        Instant updatedAt
+) {
+}
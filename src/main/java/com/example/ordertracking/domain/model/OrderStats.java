@@ -0,0 +1,15 @@
+package com.example.ordertracking.domain.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record OrderStats(
+        Map<OrderStatus, Long> countsByStatus,
+        List<OrderTransitionBucket> transitionsPerHour,
+        Instant reconciledAt
+) {
+    public long total() {
+        return countsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
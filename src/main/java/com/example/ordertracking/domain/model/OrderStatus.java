@@ -10,4 +10,8 @@ public enum OrderStatus {
     public boolean canTransitionTo(OrderStatus target) {
         return OrderStatusTransitions.canTransition(this, target);
     }
+
+    public boolean isTerminal() {
+        return OrderStatusTransitions.isTerminal(this);
+    }
 }
@@ -19,4 +19,18 @@ public final class OrderStatusTransitions {
     public static boolean canTransition(OrderStatus from, OrderStatus to) {
         return ALLOWED.getOrDefault(from, EnumSet.noneOf(OrderStatus.class)).contains(to);
     }
+
+    public static boolean isTerminal(OrderStatus status) {
+        return ALLOWED.getOrDefault(status, EnumSet.noneOf(OrderStatus.class)).isEmpty();
+    }
+
+    public static EnumSet<OrderStatus> sourcesOf(OrderStatus to) {
+        EnumSet<OrderStatus> sources = EnumSet.noneOf(OrderStatus.class);
+        ALLOWED.forEach((from, targets) -> {
+            if (targets.contains(to)) {
+                sources.add(from);
+            }
+        });
+        return sources;
+    }
 }
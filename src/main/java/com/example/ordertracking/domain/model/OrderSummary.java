@@ -0,0 +1,12 @@
+package com.example.ordertracking.domain.model;
+
+import java.time.Instant;
+
+public record OrderSummary(
+        String id,
+        String customerId,
+        OrderStatus status,
+        Instant createdAt,
+        Instant updatedAt
+) {
+}
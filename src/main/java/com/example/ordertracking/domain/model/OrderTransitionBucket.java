@@ -0,0 +1,11 @@
+package com.example.ordertracking.domain.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Transitions that happened within one hour, counted by the status they reached (registrations count as CREATED).
+public record OrderTransitionBucket(
+        Instant hour,
+        Map<OrderStatus, Long> countsByTarget
+) {
+}
@@ -0,0 +1,45 @@
+package com.example.ordertracking.infrastructure.config;
+
+import com.example.ordertracking.adapter.in.rest.AdmissionControlFilter;
+import com.example.ordertracking.adapter.in.rest.AdmissionControlFilter.EndpointClass;
+import com.example.ordertracking.adapter.in.rest.AdmissionControlFilter.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true")
+public class AdmissionControlConfig {
+
+    // Runs ahead of Spring Security so a shed request does not pay for password hashing either.
+    @Bean
+    FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(Environment environment,
+                                                                          MeterRegistry meterRegistry,
+                                                                          @Value("${app.admission.backoff-ratio:0.9}") double backoffRatio,
+                                                                          @Value("${app.admission.write-priority-threshold:0.8}") double writePriorityThreshold,
+                                                                          @Value("${app.admission.retry-after:PT1S}") Duration retryAfter) {
+        Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "app.admission." + endpointClass.name().toLowerCase() + ".";
+            limits.put(endpointClass, new Limit(
+                    environment.getRequiredProperty(prefix + "initial-limit", Integer.class),
+                    environment.getProperty(prefix + "min-limit", Integer.class, 4),
+                    environment.getRequiredProperty(prefix + "max-limit", Integer.class),
+                    environment.getRequiredProperty(prefix + "latency-threshold", Duration.class)));
+        }
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionControlFilter(limits, backoffRatio, writePriorityThreshold, retryAfter, meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ordertracking.infrastructure.config;
+
+import com.example.ordertracking.adapter.in.kafka.CarrierStatusMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.carrier-status", name = "enabled", havingValue = "true")
+public class CarrierStatusKafkaConfig {
+
+    @Bean
+    ConsumerFactory<String, CarrierStatusMessage> carrierStatusConsumerFactory(KafkaProperties kafkaProperties,
+                                                                              MeterRegistry meterRegistry,
+                                                                              @Value("${app.carrier-status.group-id}") String groupId,
+                                                                              @Value("${app.carrier-status.max-poll-records:500}") int maxPollRecords) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        JsonDeserializer<CarrierStatusMessage> json = new JsonDeserializer<>(CarrierStatusMessage.class, false);
+        DefaultKafkaConsumerFactory<String, CarrierStatusMessage> factory =
+                new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ErrorHandlingDeserializer<>(json));
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    KafkaTemplate<String, Object> carrierStatusDeadLetterTemplate(KafkaProperties kafkaProperties) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildProducerProperties());
+        DelegatingByTypeSerializer values = new DelegatingByTypeSerializer(Map.of(
+                byte[].class, new ByteArraySerializer(),
+                CarrierStatusMessage.class, new JsonSerializer<>()));
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props, new StringSerializer(), values));
+    }
+
+    @Bean
+    DeadLetterPublishingRecoverer carrierStatusDeadLetterRecoverer(KafkaTemplate<String, Object> carrierStatusDeadLetterTemplate,
+                                                                  @Value("${app.carrier-status.dead-letter-topic}") String deadLetterTopic) {
+        return new DeadLetterPublishingRecoverer(carrierStatusDeadLetterTemplate,
+                (record, ex) -> new TopicPartition(deadLetterTopic, -1));
+    }
+
+    @Bean
+    ConcurrentKafkaListenerContainerFactory<String, CarrierStatusMessage> carrierStatusListenerContainerFactory(
+            ConsumerFactory<String, CarrierStatusMessage> carrierStatusConsumerFactory,
+            DeadLetterPublishingRecoverer carrierStatusDeadLetterRecoverer,
+            @Value("${app.carrier-status.concurrency:3}") int concurrency,
+            @Value("${app.carrier-status.retry-max-elapsed:PT30S}") Duration retryMaxElapsed,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        ExponentialBackOff backOff = new ExponentialBackOff(500, 2.0);
+        backOff.setMaxElapsedTime(retryMaxElapsed.toMillis());
+        ConcurrentKafkaListenerContainerFactory<String, CarrierStatusMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(carrierStatusConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(carrierStatusDeadLetterRecoverer, backOff));
+        if (virtualThreads) {
+            // Same as Boot does for the factory it configures itself.
+            SimpleAsyncTaskExecutor consumers = new SimpleAsyncTaskExecutor("carrier-status-");
+            consumers.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(consumers);
+        }
+        return factory;
+    }
+}
@@ -1,16 +1,21 @@
 package com.example.ordertracking.infrastructure.config;
 
 import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEvent;
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEventSerializer;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -18,15 +23,40 @@ import java.util.Map;
 public class KafkaConfig {
 
     @Bean
-    ProducerFactory<String, OrderStatusChangedEvent> producerFactory(KafkaProperties kafkaProperties) {
+    ProducerFactory<String, OrderStatusChangedEvent> producerFactory(KafkaProperties kafkaProperties,
+                                                                     @Value("${app.kafka.event-format:json}") String eventFormat,
+                                                                     @Value("${app.kafka.publisher.delivery-timeout:PT2M}") Duration deliveryTimeout,
+                                                                     @Value("${app.kafka.publisher.max-block:PT2S}") Duration maxBlock,
+                                                                     MeterRegistry meterRegistry) {
         Map<String, Object> props = new HashMap<>(kafkaProperties.buildProducerProperties());
         props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        return new DefaultKafkaProducerFactory<>(props);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, valueSerializer(eventFormat));
+        // Retries belong to the producer: idempotent, with at most 5 requests in flight per connection, it
+        // re-sends without duplicates and without letting a later event of the same order overtake.
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        props.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        props.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, (int) deliveryTimeout.toMillis());
+        // send() runs on the request thread and blocks while metadata or buffer space is missing; bound it
+        // so an unreachable broker fails the send instead of holding the thread for the 60 s default.
+        props.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlock.toMillis());
+        DefaultKafkaProducerFactory<String, OrderStatusChangedEvent> factory = new DefaultKafkaProducerFactory<>(props);
+        // Exposes the client metrics, among them the producer's own retries (kafka.producer.record.retry.total).
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
     }
 
     @Bean
     KafkaTemplate<String, OrderStatusChangedEvent> kafkaTemplate(ProducerFactory<String, OrderStatusChangedEvent> producerFactory) {
         return new KafkaTemplate<>(producerFactory);
     }
+
+    private Class<?> valueSerializer(String eventFormat) {
+        return switch (eventFormat.toLowerCase()) {
+            case "json" -> JsonSerializer.class;
+            case "binary" -> OrderStatusChangedEventSerializer.class;
+            default -> throw new IllegalStateException("Unsupported app.kafka.event-format: " + eventFormat);
+        };
+    }
 }
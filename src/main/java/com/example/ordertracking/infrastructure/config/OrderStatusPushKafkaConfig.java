@@ -0,0 +1,65 @@
+package com.example.ordertracking.infrastructure.config;
+
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEvent;
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEventDeserializer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.MicrometerConsumerListener;
+import org.springframework.kafka.listener.CommonLoggingErrorHandler;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.orders.push", name = "enabled", havingValue = "true")
+public class OrderStatusPushKafkaConfig {
+
+    // A group per instance so each node sees every event; it starts at the log end and never commits,
+    // since SSE clients only receive what happens while they are connected.
+    @Bean
+    ConsumerFactory<String, OrderStatusChangedEvent> orderStatusPushConsumerFactory(KafkaProperties kafkaProperties,
+                                                                                  MeterRegistry meterRegistry,
+                                                                                  @Value("${app.orders.push.group-id-prefix:order-tracking-push}") String groupIdPrefix,
+                                                                                  @Value("${app.kafka.event-format:json}") String eventFormat) {
+        Map<String, Object> props = new HashMap<>(kafkaProperties.buildConsumerProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupIdPrefix + "-" + UUID.randomUUID());
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        DefaultKafkaConsumerFactory<String, OrderStatusChangedEvent> factory = new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), new ErrorHandlingDeserializer<>(valueDeserializer(eventFormat)));
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
+
+    @Bean
+    ConcurrentKafkaListenerContainerFactory<String, OrderStatusChangedEvent> orderStatusPushListenerContainerFactory(
+            ConsumerFactory<String, OrderStatusChangedEvent> orderStatusPushConsumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<String, OrderStatusChangedEvent> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(orderStatusPushConsumerFactory);
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(new CommonLoggingErrorHandler());
+        return factory;
+    }
+
+    // Mirrors the producer side in KafkaConfig.
+    private Deserializer<OrderStatusChangedEvent> valueDeserializer(String eventFormat) {
+        return switch (eventFormat.toLowerCase()) {
+            case "json" -> new JsonDeserializer<>(OrderStatusChangedEvent.class, false);
+            case "binary" -> new OrderStatusChangedEventDeserializer();
+            default -> throw new IllegalStateException("Unsupported app.kafka.event-format: " + eventFormat);
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.ordertracking.adapter.in.kafka;
+
+import com.example.ordertracking.application.port.in.OrderStatusUpdateResult;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusCommand;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusUseCase;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.infrastructure.config.CarrierStatusKafkaConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(
+        classes = {CarrierStatusKafkaConfig.class, CarrierStatusListener.class, CarrierStatusListenerTest.MetricsConfig.class},
+        properties = {
+                "app.carrier-status.enabled=true",
+                "app.carrier-status.concurrency=2",
+                "app.carrier-status.retry-max-elapsed=PT1S",
+                "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+                "spring.kafka.properties.security.protocol=PLAINTEXT",
+                "spring.kafka.consumer.auto-offset-reset=earliest"
+        })
+@ImportAutoConfiguration(KafkaAutoConfiguration.class)
+@EmbeddedKafka(partitions = 2, topics = {"carrier.status.updates", "carrier.status.updates.DLT"})
+class CarrierStatusListenerTest {
+
+    @MockitoBean
+    private UpdateOrderStatusUseCase updateOrderStatusUseCase;
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldApplyScansInOrderAndRouteRejectedRecordsToTheDeadLetterTopic() {
+        List<UpdateOrderStatusCommand> received = new CopyOnWriteArrayList<>();
+        when(updateOrderStatusUseCase.updateStatuses(anyList())).thenAnswer(invocation -> {
+            List<UpdateOrderStatusCommand> commands = invocation.getArgument(0);
+            received.addAll(commands);
+            return commands.stream()
+                    .map(command -> "o-unknown".equals(command.orderId())
+                            ? OrderStatusUpdateResult.notFound(command.orderId())
+                            : OrderStatusUpdateResult.applied(command.orderId(), command.status()))
+                    .toList();
+        });
+
+        try (KafkaProducer<String, String> producer =
+                     new KafkaProducer<>(KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer())) {
+            producer.send(new ProducerRecord<>("carrier.status.updates", "o-1", "{\"orderId\":\"o-1\",\"status\":\"PACKED\",\"note\":\"Hub A\"}"));
+            producer.send(new ProducerRecord<>("carrier.status.updates", "o-1", "{\"orderId\":\"o-1\",\"status\":\"SHIPPED\",\"note\":\"Hub B\"}"));
+            producer.send(new ProducerRecord<>("carrier.status.updates", "o-unknown", "{\"orderId\":\"o-unknown\",\"status\":\"PACKED\"}"));
+            producer.send(new ProducerRecord<>("carrier.status.updates", "o-2", "not json"));
+        }
+
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> assertThat(received)
+                .filteredOn(command -> command.orderId().equals("o-1"))
+                .extracting(UpdateOrderStatusCommand::status)
+                .containsExactly(OrderStatus.PACKED, OrderStatus.SHIPPED));
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("dlt-reader", "false", broker);
+        consumerProps.put("auto.offset.reset", "earliest");
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<String, byte[]>(consumerProps,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, "carrier.status.updates.DLT");
+            ConsumerRecords<String, byte[]> deadLetters = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(30), 2);
+            List<ConsumerRecord<String, byte[]>> records = StreamSupport.stream(deadLetters.spliterator(), false).toList();
+
+            assertThat(records).extracting(ConsumerRecord::key).containsExactlyInAnyOrder("o-unknown", "o-2");
+            assertThat(records).allSatisfy(record ->
+                    assertThat(record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE)).isNotNull());
+            ConsumerRecord<String, byte[]> malformed = records.stream().filter(record -> record.key().equals("o-2")).findFirst().orElseThrow();
+            assertThat(new String(malformed.value(), StandardCharsets.UTF_8)).isEqualTo("not json");
+        }
+        assertThat(meterRegistry.get("carrier.status.updates").tag("outcome", "APPLIED").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void aDeadLetterFailureShouldNotRedeliverTheAppliedBatch() {
+        UpdateOrderStatusUseCase useCase = mock(UpdateOrderStatusUseCase.class);
+        DeadLetterPublishingRecoverer recoverer = mock(DeadLetterPublishingRecoverer.class);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        when(useCase.updateStatuses(anyList())).thenReturn(List.of(
+                OrderStatusUpdateResult.applied("o-1", OrderStatus.PACKED),
+                OrderStatusUpdateResult.notFound("o-unknown")));
+        doThrow(new IllegalStateException("DLT unavailable")).when(recoverer).accept(any(), any());
+        CarrierStatusListener listener = new CarrierStatusListener(useCase, recoverer, registry);
+
+        listener.onCarrierStatuses(List.of(
+                new ConsumerRecord<>("carrier.status.updates", 0, 0L, "o-1", new CarrierStatusMessage("o-1", OrderStatus.PACKED, null)),
+                new ConsumerRecord<>("carrier.status.updates", 0, 1L, "o-unknown", new CarrierStatusMessage("o-unknown", OrderStatus.PACKED, null))));
+
+        assertThat(registry.get("carrier.status.dead-letter.failures").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("carrier.status.updates").tag("outcome", "APPLIED").counter().count()).isEqualTo(1.0);
+    }
+
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
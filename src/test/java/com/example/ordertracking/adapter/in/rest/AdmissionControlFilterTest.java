@@ -0,0 +1,77 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.in.rest.AdmissionControlFilter.EndpointClass;
+import com.example.ordertracking.adapter.in.rest.AdmissionControlFilter.Limit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissionControlFilterTest {
+
+    private final Limit limit = new Limit(2, 1, 8, Duration.ofSeconds(1));
+    private final AdmissionControlFilter filter = new AdmissionControlFilter(
+            Map.of(EndpointClass.WRITE, limit, EndpointClass.READ, limit, EndpointClass.SEARCH, limit),
+            0.5, 0.8, Duration.ofSeconds(2), new SimpleMeterRegistry());
+
+    @Test
+    void shouldShedSearchesFirstWhileWritesAreNearTheirLimit() throws Exception {
+        AimdLimiter writes = filter.limiter(EndpointClass.WRITE);
+        writes.tryAcquire();
+        writes.tryAcquire();
+
+        MockHttpServletResponse search = perform("GET", "/api/orders");
+        assertEquals(429, search.getStatus());
+        assertEquals("2", search.getHeader("Retry-After"));
+        assertEquals(429, perform("PUT", "/api/orders/o-1/status").getStatus());
+
+        writes.release(0, false, true);
+        assertEquals(200, perform("PUT", "/api/orders/o-1/status").getStatus());
+        assertEquals(1, writes.inFlight());
+    }
+
+    @Test
+    void shouldAnswerServiceUnavailableOnceSlowCallsCutTheLimit() throws Exception {
+        AimdLimiter reads = filter.limiter(EndpointClass.READ);
+        reads.tryAcquire();
+        reads.release(Duration.ofSeconds(5).toNanos(), false, true);
+        assertEquals(1, reads.limit());
+
+        reads.tryAcquire();
+        assertEquals(503, perform("GET", "/api/orders/o-1").getStatus());
+    }
+
+    @Test
+    void shouldHoldTheSlotOfAnAsyncRequestUntilItCompletes() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/export");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        AimdLimiter searches = filter.limiter(EndpointClass.SEARCH);
+        assertEquals(1, searches.inFlight());
+        request.getAsyncContext().complete();
+        assertEquals(0, searches.inFlight());
+        assertEquals(2, searches.limit());
+    }
+
+    @Test
+    void shouldLeavePushStreamsAndNonApiPathsOutsideAdmissionControl() {
+        assertNull(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/api/orders/o-1/events")));
+        assertNull(AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/actuator/health")));
+        assertEquals(EndpointClass.SEARCH, AdmissionControlFilter.classify(new MockHttpServletRequest("GET", "/api/reactive/orders")));
+        assertEquals(EndpointClass.WRITE, AdmissionControlFilter.classify(new MockHttpServletRequest("POST", "/api/orders/batch")));
+    }
+
+    private MockHttpServletResponse perform(String method, String path) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusPushHubTest {
+
+    // Drain tasks are held, never run: frames stay queued as they would behind a client that stopped reading.
+    private final List<Runnable> stalledDispatcher = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderStatusPushHub hub = new OrderStatusPushHub(new ObjectMapper().registerModule(new JavaTimeModule()),
+            meterRegistry, 3, 3, Duration.ofMinutes(1), Duration.ofSeconds(10), stalledDispatcher::add);
+
+    @Test
+    void shouldEvictOnlyTheSubscribersThatFallBehindOnMatchingEvents() {
+        hub.subscribeToOrder("o-1");
+        hub.subscribe("c-1", Set.of("SHIPPED"));
+        hub.subscribe("c-2", Set.of());
+
+        hub.broadcast(List.of(event("o-1", "c-1", "PACKED"), event("o-1", "c-1", "SHIPPED")));
+        assertEquals(3, hub.subscriberCount());
+
+        hub.broadcast(List.of(event("o-1", "c-1", "DELIVERED")));
+
+        assertEquals(2, hub.subscriberCount());
+        assertEquals(1.0, meterRegistry.counter("order.push.evicted", "reason", "slow").count());
+        assertEquals(3, stalledDispatcher.size());
+    }
+
+    @Test
+    void shouldRefuseSubscribersBeyondTheInstanceLimit() {
+        hub.subscribeToOrder("o-1");
+        hub.subscribeToOrder("o-1");
+        hub.subscribe(null, Set.of());
+
+        assertThrows(RejectedExecutionException.class, () -> hub.subscribeToOrder("o-2"));
+        assertEquals(3, hub.subscriberCount());
+    }
+
+    @Test
+    void aClientBlockedInItsWriteShouldBeDroppedWithoutHoldingUpTheOthers() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<SseEmitter> emitters = new ArrayList<>();
+        AtomicInteger healthyFrames = new AtomicInteger();
+        ExecutorService dispatcher = Executors.newCachedThreadPool();
+        OrderStatusPushHub blockingHub = new OrderStatusPushHub(new ObjectMapper().registerModule(new JavaTimeModule()),
+                meterRegistry, 10, 8, Duration.ofMinutes(1), Duration.ofMillis(50), dispatcher) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                boolean stuck = emitters.isEmpty();
+                SseEmitter emitter = new SseEmitter(timeoutMillis) {
+                    @Override
+                    public void send(Set<DataWithMediaType> frame) {
+                        if (stuck) {
+                            writing.countDown();
+                            awaitQuietly(release);
+                        } else {
+                            healthyFrames.incrementAndGet();
+                        }
+                    }
+                };
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        try {
+            blockingHub.subscribe(null, Set.of());
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+            blockingHub.subscribe(null, Set.of());
+            blockingHub.broadcast(List.of(event("o-1", "c-1", "PACKED"), event("o-1", "c-1", "SHIPPED")));
+
+            Thread.sleep(100);
+            blockingHub.evictStuckWriters();
+
+            assertEquals(1, blockingHub.subscriberCount());
+            assertEquals(1.0, meterRegistry.counter("order.push.evicted", "reason", "stuck").count());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (healthyFrames.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(3, healthyFrames.get());
+        } finally {
+            release.countDown();
+            dispatcher.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private OrderStatusChangedEvent event(String orderId, String customerId, String status) {
+        return new OrderStatusChangedEvent(orderId, customerId, status, Instant.parse("2025-01-01T00:00:00Z"));
+    }
+}
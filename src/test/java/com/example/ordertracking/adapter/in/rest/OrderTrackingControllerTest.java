@@ -2,29 +2,63 @@ package com.example.ordertracking.adapter.in.rest;
 
 import com.example.ordertracking.domain.model.Order;
 import com.example.ordertracking.application.port.in.RegisterOrderUseCase;
+import com.example.ordertracking.application.port.in.TrackOrderHistoryUseCase;
 import com.example.ordertracking.application.port.in.TrackOrderUseCase;
 import com.example.ordertracking.application.port.in.UpdateOrderStatusUseCase;
 import com.example.ordertracking.application.port.in.ListOrdersUseCase;
+import com.example.ordertracking.application.port.in.OrderPage;
+import com.example.ordertracking.application.port.in.OrderStatsUseCase;
+import com.example.ordertracking.config.AccessTokenIssuer;
 import com.example.ordertracking.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest(OrderTrackingController.class)
-@Import({OrderRestMapper.class, com.example.ordertracking.config.SecurityConfig.class})
+@WebMvcTest(controllers = {OrderTrackingController.class, AccessTokenController.class},
+        properties = {"app.orders.response-cache.enabled=true",
+                "app.security.token.secret=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="})
+@Import({OrderRestMapper.class, OrderExportWriter.class, TerminalOrderResponseCache.class, com.example.ordertracking.config.SecurityConfig.class,
+        com.example.ordertracking.config.AccessTokenIssuer.class, SimpleMeterRegistry.class,
+        OrderTrackingControllerTest.SameThreadAsyncConfig.class})
 class OrderTrackingControllerTest {
 
     @Autowired
@@ -38,6 +72,67 @@ class OrderTrackingControllerTest {
     private UpdateOrderStatusUseCase updateOrderStatusUseCase;
     @MockitoBean
     private ListOrdersUseCase listOrdersUseCase;
+    @MockitoBean
+    private TrackOrderHistoryUseCase trackOrderHistoryUseCase;
+    @MockitoBean
+    private OrderStatsUseCase orderStatsUseCase;
+
+    @Test
+    void shouldAcceptBearerTokensIssuedForBasicCredentials() throws Exception {
+        Order order = Order.create("o-9", "c-9");
+        when(trackOrderUseCase.getById("o-9")).thenReturn(order);
+
+        MvcResult issued = mockMvc.perform(post("/api/auth/token").with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token_type").value("Bearer"))
+                .andExpect(jsonPath("$.expires_in").value(900))
+                .andReturn();
+        String token = com.jayway.jsonpath.JsonPath.read(issued.getResponse().getContentAsString(), "$.access_token");
+
+        mockMvc.perform(get("/api/orders/o-9").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("o-9"));
+        mockMvc.perform(post("/api/auth/token").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/orders/o-9").header("Authorization", "Bearer " + token.substring(0, token.length() - 2) + "xx"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/api/auth/token").with(httpBasic("api-user", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldNotIssueTokensWithoutASharedSecret() {
+        AccessTokenIssuer issuer = new AccessTokenIssuer(mock(JwtEncoder.class), new SimpleMeterRegistry(), Duration.ofMinutes(15), "");
+        AccessTokenController controller = new AccessTokenController(issuer);
+
+        ResponseStatusException rejected = assertThrows(ResponseStatusException.class,
+                () -> controller.token(new UsernamePasswordAuthenticationToken("api-user", "change-me", List.of())));
+        assertEquals(HttpStatus.NOT_FOUND, rejected.getStatusCode());
+    }
+
+    @Test
+    void shouldServeTerminalOrdersFromTheirCachedResponse() throws Exception {
+        Order order = Order.create("o-7", "c-7");
+        order.transitionTo(OrderStatus.CANCELLED, order.createdAt().plusSeconds(1), "Cancelled by customer");
+        when(trackOrderUseCase.getById("o-7")).thenReturn(order);
+        String etag = "\"1-" + order.updatedAt().toEpochMilli() + "\"";
+
+        String first = mockMvc.perform(get("/api/orders/o-7").with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(get("/api/orders/o-7").with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(first));
+        mockMvc.perform(get("/api/orders/o-7").header("If-None-Match", etag).with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isNotModified());
+
+        verify(trackOrderUseCase, never()).getRevision("o-7");
+        verify(trackOrderUseCase).getById("o-7");
+    }
 
     @Test
     void shouldRegisterOrder() throws Exception {
@@ -55,6 +150,45 @@ class OrderTrackingControllerTest {
                 .andExpect(jsonPath("$.status").value("CREATED"));
     }
 
+    @Test
+    void shouldStreamExportAsCsv() throws Exception {
+        when(listOrdersUseCase.streamOrderSummaries(any())).thenReturn(Stream.of(
+                Order.create("o-5", "c-5").summary(),
+                Order.create("o-6", "c,\"6\"").summary()));
+
+        MvcResult started = mockMvc.perform(get("/api/orders/export?format=csv&status=created")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String csv = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"orders.csv\""))
+                .andReturn().getResponse().getContentAsString();
+        List<String> lines = csv.lines().toList();
+        assertEquals("id,customerId,status,createdAt,updatedAt", lines.get(0));
+        assertTrue(lines.get(1).startsWith("o-5,c-5,CREATED,"));
+        assertTrue(lines.get(2).startsWith("o-6,\"c,\"\"6\"\"\",CREATED,"));
+        assertEquals(3, lines.size());
+    }
+
+    @Test
+    void shouldStreamExportAsNdjsonByDefault() throws Exception {
+        when(listOrdersUseCase.streamOrderSummaries(any())).thenReturn(Stream.of(Order.create("o-7", "c-7").summary()));
+
+        MvcResult started = mockMvc.perform(get("/api/orders/export")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String ndjson = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(ndjson.startsWith("{\"id\":\"o-7\",\"customerId\":\"c-7\",\"status\":\"CREATED\""));
+        assertTrue(ndjson.endsWith("}\n"));
+    }
+
     @Test
     void shouldTrackOrder() throws Exception {
         Order order = Order.create("o-2", "c-2");
@@ -63,7 +197,77 @@ class OrderTrackingControllerTest {
         mockMvc.perform(get("/api/orders/o-2")
                         .with(httpBasic("api-user", "change-me")))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0-" + order.updatedAt().toEpochMilli() + "\""))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.customerId").value("c-2"));
+        verify(trackOrderUseCase, never()).getRevision("o-2");
+        verify(trackOrderUseCase).getById("o-2");
+    }
+
+    @Test
+    void shouldAnswerNotModifiedFromTheRevisionAlone() throws Exception {
+        Order order = Order.create("o-3", "c-3");
+        order.transitionTo(OrderStatus.PACKED, order.updatedAt().plusSeconds(5), "packed");
+        when(trackOrderUseCase.getRevision("o-3")).thenReturn(order.revision());
+
+        mockMvc.perform(get("/api/orders/o-3")
+                        .header("If-None-Match", "\"1-" + order.updatedAt().toEpochMilli() + "\"")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        verify(trackOrderUseCase, never()).getById("o-3");
+
+        when(trackOrderUseCase.getById("o-3")).thenReturn(order);
+        mockMvc.perform(get("/api/orders/o-3")
+                        .header("If-None-Match", "\"0-" + order.createdAt().toEpochMilli() + "\"")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk());
+        verify(trackOrderUseCase).getById("o-3");
+    }
+
+    @Test
+    void shouldListOrderSummariesWithoutHistory() throws Exception {
+        Order order = Order.create("o-4", "c-4");
+        when(listOrdersUseCase.listOrderSummaryPage(any())).thenReturn(new OrderPage<>(List.of(order.summary()), "next-token"));
+
+        mockMvc.perform(get("/api/orders?size=1")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-token"))
+                .andExpect(jsonPath("$[0].id").value("o-4"))
+                .andExpect(jsonPath("$[0].history").doesNotExist());
+    }
+
+    @Test
+    void shouldListOrdersWithHistoryWhenRequested() throws Exception {
+        Order order = Order.create("o-5", "c-5");
+        when(listOrdersUseCase.listOrderPage(any())).thenReturn(new OrderPage<>(List.of(order), null));
+
+        mockMvc.perform(get("/api/orders?includeHistory=true")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].history[0].status").value("CREATED"));
+    }
+
+    @Test
+    void shouldPageOrderHistory() throws Exception {
+        Order order = Order.create("o-6", "c-6");
+        when(trackOrderHistoryUseCase.getHistory("o-6", 1, 20)).thenReturn(order.history());
+
+        mockMvc.perform(get("/api/orders/o-6/history?page=1&size=20")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CREATED"));
+    }
+
+    @Test
+    void shouldRejectNegativeHistoryPages() throws Exception {
+        mockMvc.perform(get("/api/orders/o-6/history?page=-1&size=20")
+                        .with(httpBasic("api-user", "change-me")))
+                .andExpect(status().isBadRequest());
+
+        verify(trackOrderHistoryUseCase, never()).getHistory(any(), anyInt(), anyInt());
     }
 
     @Test
@@ -106,4 +310,18 @@ class OrderTrackingControllerTest {
                 .andExpect(jsonPath("$.title").value("Business rule violation"));
     }
 
+    // Streaming bodies run on the MVC async executor; running them inline keeps the mock response single-threaded.
+    @TestConfiguration
+    static class SameThreadAsyncConfig {
+
+        @Bean
+        AsyncTaskExecutor applicationTaskExecutor() {
+            return new TaskExecutorAdapter(Runnable::run);
+        }
+
+        @Bean
+        OrderExportExecutor orderExportExecutor() {
+            return new OrderExportExecutor(new TaskExecutorAdapter(Runnable::run));
+        }
+    }
 }
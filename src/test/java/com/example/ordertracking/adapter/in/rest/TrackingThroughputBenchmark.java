@@ -0,0 +1,156 @@
+package com.example.ordertracking.adapter.in.rest;
+
+import com.example.ordertracking.OrderTrackingApplication;
+import com.example.ordertracking.bdd.InMemoryOrderTrackingTestConfig;
+import com.example.ordertracking.bdd.InMemoryOrderTrackingTestConfig.InMemoryOrderStore;
+import com.example.ordertracking.domain.model.Order;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Tracking requests against the real servlet stack, with the store sleeping to stand in for a Mongo round trip.
+// Runs the same load on platform Tomcat threads and on virtual threads, and lists the pinning sites seen by JFR.
+// Run from the IDE or with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.example.ordertracking.adapter.in.rest.TrackingThroughputBenchmark -Dexec.args="20000 2000 20"
+public final class TrackingThroughputBenchmark {
+
+    private static final int ORDERS = 10_000;
+    private static final String USER = "bench";
+    private static final String PASSWORD = "bench";
+
+    private TrackingThroughputBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+        long storeLatencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        System.setProperty("bench.store-latency-millis", Long.toString(storeLatencyMillis));
+
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                InMemoryOrderStore store = context.getBean(InMemoryOrderStore.class);
+                for (int i = 0; i < ORDERS; i++) {
+                    store.save(Order.create("ORD-" + i, "CUST-" + (i % 500)));
+                }
+                int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+                run(port, Math.min(requests, 2_000), concurrency);
+                long[] latencies = new long[requests];
+                long started = System.nanoTime();
+                int failures = run(port, requests, concurrency, latencies);
+                double seconds = (System.nanoTime() - started) / 1e9;
+
+                Arrays.sort(latencies);
+                System.out.printf("%-8s %,8.0f req/s  p50 %6.1f ms  p99 %7.1f ms  max %7.1f ms  failures %d%n",
+                        virtualThreads ? "virtual" : "platform", requests / seconds,
+                        latencies[requests / 2] / 1e6, latencies[(int) (requests * 0.99)] / 1e6, latencies[requests - 1] / 1e6, failures);
+                if (virtualThreads) {
+                    context.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").counters().forEach(counter ->
+                            System.out.printf("         pinned %,6.0f x at %s%n", counter.count(), counter.getId().getTag("site")));
+                }
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(OrderTrackingApplication.class, InMemoryOrderTrackingTestConfig.class, BenchmarkConfig.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--app.threads.pinned-threshold=PT0S",
+                        "--app.security.user.name=" + USER,
+                        "--app.security.user.password=" + PASSWORD,
+                        "--spring.main.allow-bean-definition-overriding=true",
+                        "--app.mongo.indexes.bootstrap=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.example.ordertracking.infrastructure.config.VirtualThreadPinningMonitor=ERROR",
+                        "--spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration");
+    }
+
+    private static int run(int port, int requests, int concurrency) throws InterruptedException {
+        return run(port, requests, concurrency, new long[requests]);
+    }
+
+    private static int run(int port, int requests, int concurrency, long[] latencies) throws InterruptedException {
+        String authorization = "Basic " + Base64.getEncoder().encodeToString((USER + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger failures = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            for (int i = 0; i < requests; i++) {
+                int index = i;
+                permits.acquire();
+                clients.submit(() -> {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/ORD-" + (index % ORDERS)))
+                            .header("Authorization", authorization)
+                            .GET()
+                            .build();
+                    long start = System.nanoTime();
+                    try {
+                        if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - start;
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquire(concurrency);
+        }
+        return failures.get();
+    }
+
+    @Configuration
+    static class BenchmarkConfig {
+
+        @Bean
+        @Primary
+        InMemoryOrderStore inMemoryOrderStore() {
+            long latencyMillis = Long.getLong("bench.store-latency-millis", 20);
+            return new InMemoryOrderStore() {
+                @Override
+                public Optional<Order> findById(String orderId) {
+                    try {
+                        Thread.sleep(latencyMillis);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return super.findById(orderId);
+                }
+            };
+        }
+
+        // BCrypt on every Basic request would make both runs CPU bound and hide the thread model.
+        @Bean
+        @SuppressWarnings("deprecation")
+        PasswordEncoder passwordEncoder() {
+            return NoOpPasswordEncoder.getInstance();
+        }
+    }
+}
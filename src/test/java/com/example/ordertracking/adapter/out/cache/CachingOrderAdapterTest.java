@@ -0,0 +1,73 @@
+package com.example.ordertracking.adapter.out.cache;
+
+import com.example.ordertracking.adapter.out.mongo.OrderMongoAdapter;
+import com.example.ordertracking.adapter.out.mongo.ReactiveOrderMongoAdapter;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingOrderAdapterTest {
+
+    private final OrderMongoAdapter delegate = mock(OrderMongoAdapter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CachingOrderAdapter adapter =
+            new CachingOrderAdapter(delegate, meterRegistry, 100, Duration.ofSeconds(30), Duration.ofHours(1));
+
+    @Test
+    void shouldServeRepeatedReadsFromCacheAndRecordHits() {
+        when(delegate.findById("o-cache")).thenReturn(Optional.of(Order.create("o-cache", "c-cache")));
+
+        adapter.findById("o-cache");
+        adapter.findById("o-cache");
+
+        verify(delegate, times(1)).findById("o-cache");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "orders").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "orders").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void shouldReplaceCachedEntryWithTransitionedOrder() {
+        Order order = Order.create("o-cache-2", "c-cache");
+        when(delegate.findById("o-cache-2")).thenReturn(Optional.of(order));
+        Order packed = Order.create("o-cache-2", "c-cache");
+        packed.transitionTo(OrderStatus.PACKED, Instant.now(), "Packed");
+        when(delegate.transition("o-cache-2", OrderStatus.PACKED, packed.updatedAt(), "Packed")).thenReturn(Optional.of(new TransitionedOrder(packed, OrderStatus.CREATED)));
+
+        adapter.findById("o-cache-2");
+        adapter.transition("o-cache-2", OrderStatus.PACKED, packed.updatedAt(), "Packed");
+
+        assertEquals(OrderStatus.PACKED, adapter.findById("o-cache-2").orElseThrow().status());
+        verify(delegate, times(1)).findById("o-cache-2");
+    }
+
+    @Test
+    void reactiveTransitionsShouldEvictTheCachedOrder() {
+        Order order = Order.create("o-cache-3", "c-cache");
+        when(delegate.findById("o-cache-3")).thenReturn(Optional.of(order));
+        Order packed = Order.create("o-cache-3", "c-cache");
+        packed.transitionTo(OrderStatus.PACKED, Instant.now(), "Packed");
+        ReactiveOrderMongoAdapter reactiveDelegate = mock(ReactiveOrderMongoAdapter.class);
+        when(reactiveDelegate.transition("o-cache-3", OrderStatus.PACKED, packed.updatedAt(), "Packed"))
+                .thenReturn(Mono.just(new TransitionedOrder(packed, OrderStatus.CREATED)));
+
+        adapter.findById("o-cache-3");
+        new CacheEvictingReactiveOrderAdapter(reactiveDelegate, adapter)
+                .transition("o-cache-3", OrderStatus.PACKED, packed.updatedAt(), "Packed").block();
+        adapter.findById("o-cache-3");
+
+        verify(delegate, times(2)).findById("o-cache-3");
+    }
+}
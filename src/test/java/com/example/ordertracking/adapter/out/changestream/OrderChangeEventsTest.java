@@ -0,0 +1,55 @@
+package com.example.ordertracking.adapter.out.changestream;
+
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderChangeEventsTest {
+
+    private static final Instant CHANGED_AT = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Test
+    void updateShouldTakeStatusFromTheChangeAndCustomerFromTheLookup() {
+        Document event = new Document("operationType", "update")
+                .append("documentKey", new Document("_id", "ORD-1"))
+                .append("fullDocument", new Document("customerId", "CUST-1").append("status", "DELIVERED"))
+                .append("updateDescription", new Document("updatedFields",
+                        new Document("status", "SHIPPED").append("updatedAt", Date.from(CHANGED_AT))));
+
+        Order order = OrderChangeEvents.toOrder(event).orElseThrow();
+
+        assertEquals("ORD-1", order.id());
+        assertEquals("CUST-1", order.customerId());
+        assertEquals(OrderStatus.SHIPPED, order.status());
+        assertEquals(CHANGED_AT, order.updatedAt());
+    }
+
+    @Test
+    void insertShouldUseTheFullDocument() {
+        Document event = new Document("operationType", "insert")
+                .append("documentKey", new Document("_id", "ORD-2"))
+                .append("fullDocument", new Document("customerId", "CUST-2")
+                        .append("status", "CREATED").append("updatedAt", Date.from(CHANGED_AT)));
+
+        Order order = OrderChangeEvents.toOrder(event).orElseThrow();
+
+        assertEquals(OrderStatus.CREATED, order.status());
+        assertEquals("CUST-2", order.customerId());
+    }
+
+    @Test
+    void updateWithoutStatusShouldBeIgnored() {
+        Document event = new Document("operationType", "update")
+                .append("documentKey", new Document("_id", "ORD-3"))
+                .append("updateDescription", new Document("updatedFields", new Document("searchGrams", "i:o")));
+
+        assertTrue(OrderChangeEvents.toOrder(event).isEmpty());
+    }
+}
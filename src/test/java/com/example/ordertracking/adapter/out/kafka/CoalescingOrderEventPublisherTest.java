@@ -0,0 +1,50 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+class CoalescingOrderEventPublisherTest {
+
+    private final KafkaOrderEventPublisher delegate = mock(KafkaOrderEventPublisher.class);
+    private final CoalescingOrderEventPublisher publisher =
+            new CoalescingOrderEventPublisher(delegate, new SimpleMeterRegistry(), Duration.ofHours(1));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldOnlySendTheLatestStateOfEachOrderPerWindow() {
+        Order first = Order.create("o-1", "c-1");
+        Order packed = copy(first);
+        packed.transitionTo(OrderStatus.PACKED, first.updatedAt().plusMillis(5), "Packed");
+        Order shipped = copy(packed);
+        shipped.transitionTo(OrderStatus.SHIPPED, packed.updatedAt().plusMillis(5), "Shipped");
+        Order other = Order.create("o-2", "c-1");
+
+        publisher.publishStatusChanged(List.of(first, packed, other));
+        publisher.publishStatusChanged(shipped);
+        publisher.publishStatusChanged(packed);
+        publisher.flush();
+        publisher.flush();
+
+        ArgumentCaptor<List<Order>> sent = ArgumentCaptor.forClass(List.class);
+        verify(delegate).publishStatusChanged(sent.capture());
+        verifyNoMoreInteractions(delegate);
+        List<Order> batch = sent.getValue().stream().sorted(Comparator.comparing(Order::id)).toList();
+        assertEquals(List.of(OrderStatus.SHIPPED, OrderStatus.CREATED), batch.stream().map(Order::status).toList());
+    }
+
+    private Order copy(Order order) {
+        return Order.of(order.id(), order.customerId(), order.status(), order.createdAt(), order.updatedAt(), order.history());
+    }
+}
@@ -1,27 +1,111 @@
 package com.example.ordertracking.adapter.out.kafka;
 
 import com.example.ordertracking.domain.model.Order;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.junit.jupiter.api.Test;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.kafka.support.SendResult;
 
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class KafkaOrderEventPublisherTest {
 
     @SuppressWarnings("unchecked")
     private final KafkaTemplate<String, OrderStatusChangedEvent> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @Test
     void shouldPublishStatusEvent() {
-        KafkaOrderEventPublisher publisher = new KafkaOrderEventPublisher(kafkaTemplate);
-        ReflectionTestUtils.setField(publisher, "topic", "order.status.changed");
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderStatusChangedEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        KafkaOrderEventPublisher publisher = publisher(KafkaOrderEventPublisher.OverflowPolicy.BLOCK, 10);
         Order order = Order.create("o-kafka", "c-kafka");
 
         publisher.publishStatusChanged(order);
 
-        verify(kafkaTemplate).send(eq("order.status.changed"), eq("o-kafka"), org.mockito.ArgumentMatchers.any(OrderStatusChangedEvent.class));
+        verify(kafkaTemplate).send(eq("order.status.changed"), eq("o-kafka"), any(OrderStatusChangedEvent.class));
+        assertEquals(1, meterRegistry.get("order.events.publish").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void failFastShouldRejectSendsBeyondTheInFlightWindow() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderStatusChangedEvent.class)))
+                .thenReturn(new CompletableFuture<>());
+        KafkaOrderEventPublisher publisher = publisher(KafkaOrderEventPublisher.OverflowPolicy.FAIL_FAST, 1);
+
+        publisher.ensureCapacity(1);
+        publisher.publishStatusChanged(Order.create("o-1", "c-1"));
+
+        assertThrows(RejectedExecutionException.class, () -> publisher.ensureCapacity(1));
+        assertEquals(1.0, meterRegistry.get("order.events.publish.rejected").counter().count());
+    }
+
+    @Test
+    void sendsThatFindNoSlotAfterTheWriteShouldFailTheirFutureInsteadOfThrowing() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderStatusChangedEvent.class)))
+                .thenReturn(new CompletableFuture<>());
+        KafkaOrderEventPublisher publisher = publisher(KafkaOrderEventPublisher.OverflowPolicy.BLOCK, 1);
+
+        publisher.publish(new OrderStatusChangedEvent("o-5", "c-1", "PACKED", null));
+        CompletableFuture<Void> second = publisher.publish(new OrderStatusChangedEvent("o-6", "c-1", "PACKED", null));
+
+        assertTrue(second.isCompletedExceptionally());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(OrderStatusChangedEvent.class));
+        assertEquals(1.0, meterRegistry.get("order.events.publish.rejected").counter().count());
+    }
+
+    @Test
+    void spillShouldBufferSendsAndDispatchThemInOrderOnceSlotsFreeUp() {
+        CompletableFuture<SendResult<String, OrderStatusChangedEvent>> first = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderStatusChangedEvent.class)))
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.completedFuture(null));
+        KafkaOrderEventPublisher publisher = publisher(KafkaOrderEventPublisher.OverflowPolicy.SPILL, 1);
+
+        CompletableFuture<Void> packed = publisher.publish(new OrderStatusChangedEvent("o-3", "c-1", "PACKED", null));
+        CompletableFuture<Void> shipped = publisher.publish(new OrderStatusChangedEvent("o-3", "c-1", "SHIPPED", null));
+
+        assertFalse(shipped.isDone());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(OrderStatusChangedEvent.class));
+        first.complete(null);
+        shipped.join();
+        assertTrue(packed.isDone());
+        verify(kafkaTemplate, times(2)).send(anyString(), anyString(), any(OrderStatusChangedEvent.class));
+    }
+
+    @Test
+    void shouldLeaveRetriesToTheProducerAndReportFinalFailures() {
+        when(kafkaTemplate.send(anyString(), anyString(), any(OrderStatusChangedEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("delivery timeout expired")));
+        KafkaOrderEventPublisher publisher = publisher(KafkaOrderEventPublisher.OverflowPolicy.BLOCK, 1);
+
+        CompletableFuture<Void> sent = publisher.publish(new OrderStatusChangedEvent("o-4", "c-1", "PACKED", null));
+
+        assertTrue(sent.isCompletedExceptionally());
+        verify(kafkaTemplate, times(1)).send(anyString(), anyString(), any(OrderStatusChangedEvent.class));
+        assertEquals(1.0, meterRegistry.get("order.events.publish.errors").counter().count());
+        assertEquals(0.0, meterRegistry.get("order.events.publish.in.flight").gauge().value());
+    }
+
+    private KafkaOrderEventPublisher publisher(KafkaOrderEventPublisher.OverflowPolicy policy, int maxInFlight) {
+        return new KafkaOrderEventPublisher(kafkaTemplate, meterRegistry, "order.status.changed", maxInFlight, policy, 100,
+                Duration.ofMillis(50), ForkJoinPool.commonPool());
     }
 }
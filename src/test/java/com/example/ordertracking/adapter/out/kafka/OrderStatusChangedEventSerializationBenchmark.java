@@ -0,0 +1,71 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Run from the IDE or with: mvn -q test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=com.example.ordertracking.adapter.out.kafka.OrderStatusChangedEventSerializationBenchmark
+public final class OrderStatusChangedEventSerializationBenchmark {
+
+    private static final String TOPIC = "order.status.changed";
+    private static final String[] STATUSES = {"CREATED", "PACKED", "SHIPPED", "DELIVERED", "CANCELLED"};
+
+    private OrderStatusChangedEventSerializationBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<OrderStatusChangedEvent> events = new ArrayList<>(count);
+        Instant start = Instant.parse("2025-01-01T00:00:00Z");
+        for (int i = 0; i < count; i++) {
+            events.add(new OrderStatusChangedEvent("ORD-" + (100_000_000 + i), "CUST-" + (i % 50_000), STATUSES[i % STATUSES.length],
+                    start.plusMillis(i * 37L)));
+        }
+
+        JsonDeserializer<OrderStatusChangedEvent> jsonDeserializer = new JsonDeserializer<>(OrderStatusChangedEvent.class, false);
+        jsonDeserializer.configure(Map.of(), false);
+        try (JsonSerializer<OrderStatusChangedEvent> jsonSerializer = new JsonSerializer<>()) {
+            run("json", events, jsonSerializer, jsonDeserializer);
+        }
+        run("binary", events, new OrderStatusChangedEventSerializer(), new OrderStatusChangedEventDeserializer());
+    }
+
+    private static void run(String format, List<OrderStatusChangedEvent> events,
+                            Serializer<OrderStatusChangedEvent> serializer, Deserializer<OrderStatusChangedEvent> deserializer) {
+        for (int warmup = 0; warmup < 3; warmup++) {
+            roundTrip(events, serializer, deserializer);
+        }
+        long bytes = 0;
+        long serializeNanos = 0;
+        long deserializeNanos = 0;
+        for (OrderStatusChangedEvent event : events) {
+            long t0 = System.nanoTime();
+            byte[] data = serializer.serialize(TOPIC, event);
+            long t1 = System.nanoTime();
+            deserializer.deserialize(TOPIC, data);
+            long t2 = System.nanoTime();
+            bytes += data.length;
+            serializeNanos += t1 - t0;
+            deserializeNanos += t2 - t1;
+        }
+        System.out.printf("%-6s avg %6.1f bytes/event, serialize %,12.0f events/s, deserialize %,12.0f events/s%n",
+                format, (double) bytes / events.size(),
+                events.size() / (serializeNanos / 1e9), events.size() / (deserializeNanos / 1e9));
+    }
+
+    private static long roundTrip(List<OrderStatusChangedEvent> events,
+                                  Serializer<OrderStatusChangedEvent> serializer, Deserializer<OrderStatusChangedEvent> deserializer) {
+        long checksum = 0;
+        for (OrderStatusChangedEvent event : events) {
+            checksum += deserializer.deserialize(TOPIC, serializer.serialize(TOPIC, event)).orderId().length();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ordertracking.adapter.out.kafka;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderStatusChangedEventSerializerTest {
+
+    private final OrderStatusChangedEventSerializer serializer = new OrderStatusChangedEventSerializer();
+    private final OrderStatusChangedEventDeserializer deserializer = new OrderStatusChangedEventDeserializer();
+
+    @Test
+    void shouldRoundTripEventsAtMillisecondPrecision() {
+        OrderStatusChangedEvent event = new OrderStatusChangedEvent("ORD-2024-000042", "client-é", "SHIPPED",
+                Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        OrderStatusChangedEvent withoutOptionalFields = new OrderStatusChangedEvent("o-1", null, "CREATED", null);
+
+        assertEquals(event, deserializer.deserialize("t", serializer.serialize("t", event)));
+        assertEquals(withoutOptionalFields, deserializer.deserialize("t", serializer.serialize("t", withoutOptionalFields)));
+    }
+
+    @Test
+    void shouldBeLessThanHalfTheSizeOfJson() {
+        OrderStatusChangedEvent event = new OrderStatusChangedEvent("ORD-2024-000042", "CUST-000917", "DELIVERED", Instant.now());
+        try (JsonSerializer<OrderStatusChangedEvent> json = new JsonSerializer<>()) {
+            int jsonSize = json.serialize("t", event).length;
+            int binarySize = serializer.serialize("t", event).length;
+
+            assertTrue(binarySize * 2 < jsonSize, "binary " + binarySize + " bytes vs json " + jsonSize + " bytes");
+        }
+    }
+
+    @Test
+    void shouldRejectUnknownVersionsAndStatusCodes() {
+        byte[] encoded = serializer.serialize("t", new OrderStatusChangedEvent("o-1", "c-1", "PACKED", Instant.now()));
+
+        encoded[1] = 42;
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("t", encoded));
+        encoded[0] = 9;
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("t", encoded));
+    }
+}
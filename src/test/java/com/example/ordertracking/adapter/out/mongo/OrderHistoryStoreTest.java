@@ -0,0 +1,66 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderHistoryStoreTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bucketOps = mock(BulkOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderHistoryStore historyStore = new OrderHistoryStore(mongoTemplate, meterRegistry, "bucketed", 5, 10, 2, 3);
+
+    @Test
+    void eventsThatFailEveryAttemptShouldBeReappendedLater() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OrderHistoryBucketDocument.class))).thenReturn(bucketOps);
+        when(bucketOps.execute())
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenThrow(new DataAccessResourceFailureException("down"))
+                .thenReturn(null);
+
+        historyStore.append(events("o-1", 2));
+
+        assertEquals(2.0, meterRegistry.get("order.history.append.failures").counter().count());
+        assertEquals(2.0, meterRegistry.get("order.history.append.deferred").gauge().value());
+        historyStore.appendDeferred();
+        verify(bucketOps, times(3)).execute();
+        assertEquals(0.0, meterRegistry.get("order.history.append.deferred").gauge().value());
+    }
+
+    @Test
+    void eventsBeyondTheDeferredCapacityShouldBeCountedAsLost() {
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OrderHistoryBucketDocument.class))).thenReturn(bucketOps);
+        when(bucketOps.execute()).thenThrow(new DataAccessResourceFailureException("down"));
+
+        historyStore.append(events("o-1", 2));
+        historyStore.append(events("o-2", 2));
+
+        assertEquals(2.0, meterRegistry.get("order.history.append.deferred").gauge().value());
+        assertEquals(2.0, meterRegistry.get("order.history.append.lost").counter().count());
+    }
+
+    private List<TrackingEventDocument> events(String orderId, int count) {
+        return historyStore.sequenced(IntStream.range(0, count)
+                .mapToObj(index -> TrackingEventDocument.builder()
+                        .orderId(orderId)
+                        .status("PACKED")
+                        .occurredAt(Instant.EPOCH.plusSeconds(index))
+                        .build())
+                .toList(), count - 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderIndexInitializerTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final Map<Class<?>, IndexOperations> indexOps = new HashMap<>();
+    private final Map<Class<?>, List<String>> ensured = new HashMap<>();
+    private final OrderIndexInitializer initializer = new OrderIndexInitializer(mongoTemplate);
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.getCollectionName(any())).thenAnswer(invocation -> ((Class<?>) invocation.getArgument(0)).getSimpleName());
+        for (Class<?> type : List.of(OrderDocument.class, OrderHistoryBucketDocument.class, OutboxRelayMemberDocument.class,
+                OrderStatsDocument.class)) {
+            IndexOperations operations = mock(IndexOperations.class);
+            List<String> names = new ArrayList<>();
+            when(operations.ensureIndex(any(IndexDefinition.class))).thenAnswer(invocation -> {
+                String name = invocation.<IndexDefinition>getArgument(0).getIndexOptions().getString("name");
+                names.add(name);
+                return name;
+            });
+            when(mongoTemplate.indexOps(type)).thenReturn(operations);
+            indexOps.put(type, operations);
+            ensured.put(type, names);
+        }
+    }
+
+    @Test
+    void shouldPassWhenEveryDeclaredIndexExists() {
+        indexOps.forEach((type, operations) -> when(operations.getIndexInfo())
+                .thenAnswer(invocation -> ensured.get(type).stream().map(this::indexNamed).toList()));
+
+        initializer.ensureIndexes();
+
+        assertTrue(ensured.get(OrderDocument.class).containsAll(List.of("updatedAt_id", "outbox_pending", "searchGrams")));
+        assertEquals(List.of("orderId_bucket"), ensured.get(OrderHistoryBucketDocument.class));
+    }
+
+    @Test
+    void shouldFailStartupWhenAnIndexIsMissingAfterEnsureIndex() {
+        indexOps.forEach((type, operations) -> when(operations.getIndexInfo())
+                .thenAnswer(invocation -> ensured.get(type).stream()
+                        .filter(name -> !"status_updatedAt_id".equals(name))
+                        .map(this::indexNamed)
+                        .toList()));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, initializer::ensureIndexes);
+
+        assertEquals("Missing indexes on OrderDocument: [status_updatedAt_id]", ex.getMessage());
+    }
+
+    private IndexInfo indexNamed(String name) {
+        return new IndexInfo(List.of(), name, false, false, null);
+    }
+}
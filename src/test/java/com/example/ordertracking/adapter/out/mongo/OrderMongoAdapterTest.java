@@ -0,0 +1,158 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import com.mongodb.bulk.BulkWriteResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderMongoAdapterTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-05-01T08:00:00Z");
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bucketOps = mock(BulkOperations.class);
+    private final OrderDocumentMapper mapper = new OrderDocumentMapper();
+    private final OrderSearchGramsBackfill searchGramsBackfill = mock(OrderSearchGramsBackfill.class);
+    private OrderMongoAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        OrderHistoryStore historyStore = new OrderHistoryStore(mongoTemplate, new SimpleMeterRegistry(), "bucketed", 5, 10, 3, 100);
+        adapter = new OrderMongoAdapter(mock(SpringDataOrderRepository.class), mapper, mongoTemplate, historyStore,
+                mock(OrderOutboxStore.class), searchGramsBackfill);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OrderHistoryBucketDocument.class))).thenReturn(bucketOps);
+    }
+
+    @Test
+    void firstBucketedTransitionShouldCopyTheWholeEmbeddedHistoryIntoBuckets() {
+        OrderDocument embedded = embeddedOrder("o-1", 15);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(OrderDocument.class)))
+                .thenReturn(embedded);
+
+        TransitionedOrder transitioned = adapter.transition("o-1", OrderStatus.DELIVERED, CREATED_AT.plusSeconds(60), "delivered")
+                .orElseThrow();
+        Order order = transitioned.order();
+
+        assertEquals(10, order.history().size());
+        assertEquals(15, order.version());
+        assertEquals(OrderStatus.SHIPPED, transitioned.from());
+        Map<String, List<TrackingEventDocument>> buckets = appendedBuckets();
+        assertEquals(List.of("o-1:0", "o-1:1", "o-1:2", "o-1:3"), List.copyOf(buckets.keySet()));
+        List<TrackingEventDocument> history = buckets.values().stream().flatMap(List::stream).toList();
+        assertEquals(LongStream.rangeClosed(0, 15).boxed().toList(), history.stream().map(TrackingEventDocument::getSequence).toList());
+        assertEquals("note-0", history.get(0).getNote());
+        assertEquals("delivered", history.get(15).getNote());
+    }
+
+    @Test
+    void bulkTransitionsShouldCopyTheEmbeddedHistoryReadBeforeTheyTrimIt() {
+        BulkOperations orderOps = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OrderDocument.class))).thenReturn(orderOps);
+        when(orderOps.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        when(mongoTemplate.find(any(Query.class), eq(OrderDocument.class))).thenReturn(List.of(embeddedOrder("o-2", 12)));
+
+        adapter.transitionAll(List.of(new OrderStatusTransition("o-2", OrderStatus.SHIPPED, OrderStatus.DELIVERED,
+                CREATED_AT.plusSeconds(60), "delivered")));
+
+        List<TrackingEventDocument> history = appendedBuckets().values().stream().flatMap(List::stream).toList();
+        assertEquals(LongStream.rangeClosed(0, 12).boxed().toList(), history.stream().map(TrackingEventDocument::getSequence).toList());
+    }
+
+    @Test
+    void chainedTransitionsShouldNotCountAMissedHopThatALaterHopRanPast() {
+        BulkOperations orderOps = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OrderDocument.class))).thenReturn(orderOps);
+        when(orderOps.execute()).thenReturn(BulkWriteResult.acknowledged(0, 1, 0, 1, List.of(), List.of()));
+        OrderDocument packed = embeddedOrder("o-3", 2);
+        packed.setStatus(OrderStatus.PACKED.name());
+        Instant shippedAt = CREATED_AT.plusSeconds(120);
+        OrderDocument shipped = OrderDocument.builder().id("o-3").status(OrderStatus.SHIPPED.name()).updatedAt(shippedAt).build();
+        when(mongoTemplate.find(any(Query.class), eq(OrderDocument.class))).thenReturn(List.of(packed), List.of(shipped));
+        OrderStatusTransition toShipped = new OrderStatusTransition("o-3", OrderStatus.PACKED, OrderStatus.SHIPPED, shippedAt, "shipped");
+
+        List<OrderStatusTransition> applied = adapter.transitionAll(List.of(
+                new OrderStatusTransition("o-3", OrderStatus.CREATED, OrderStatus.PACKED, CREATED_AT.plusSeconds(60), "packed"),
+                toShipped));
+
+        assertEquals(List.of(toShipped), applied);
+    }
+
+    @Test
+    void containsSearchesShouldStillMatchOrdersWithoutGramsUntilTheBackfillCompletes() {
+        OrderSearchQuery query = new OrderSearchQuery("abc", null, null, null, null, 0, 50, "updatedAt", "desc");
+
+        Document pending = adapter.toMongoQuery(query).getQueryObject();
+        when(searchGramsBackfill.completed()).thenReturn(true);
+        Document completed = adapter.toMongoQuery(query).getQueryObject();
+
+        assertEquals(List.of(new Document(OrderSearchGrams.FIELD,
+                        new Document("$exists", true).append("$not", new Document("$all", List.of("i:abc"))))),
+                pending.get("$nor"));
+        assertEquals(new Document("$all", List.of("i:abc")), completed.get(OrderSearchGrams.FIELD));
+        assertFalse(completed.containsKey("$nor"));
+    }
+
+    private OrderDocument embeddedOrder(String orderId, int events) {
+        List<TrackingEventDocument> history = IntStream.range(0, events)
+                .mapToObj(index -> TrackingEventDocument.builder()
+                        .orderId(orderId)
+                        .status(OrderStatus.SHIPPED.name())
+                        .occurredAt(CREATED_AT.plusSeconds(index))
+                        .note("note-" + index)
+                        .build())
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return OrderDocument.builder()
+                .id(orderId)
+                .customerId("c-1")
+                .status(OrderStatus.SHIPPED.name())
+                .createdAt(CREATED_AT)
+                .updatedAt(CREATED_AT.plusSeconds(events))
+                .version((long) events - 1)
+                .history(history)
+                .build();
+    }
+
+    private Map<String, List<TrackingEventDocument>> appendedBuckets() {
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(bucketOps, atLeastOnce()).upsert(queries.capture(), updates.capture());
+        Map<String, List<TrackingEventDocument>> buckets = new TreeMap<>();
+        for (int i = 0; i < queries.getAllValues().size(); i++) {
+            Document addToSet = (Document) updates.getAllValues().get(i).getUpdateObject().get("$addToSet");
+            Object[] events = (Object[]) ((Update.Modifier) addToSet.get("events")).getValue();
+            buckets.computeIfAbsent(queries.getAllValues().get(i).getQueryObject().getString("_id"), id -> new ArrayList<>())
+                    .addAll(Arrays.stream(events).map(TrackingEventDocument.class::cast).toList());
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderQueryPlanAdvisorTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final OrderMongoAdapter orderMongoAdapter = mock(OrderMongoAdapter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final FindIterable<Document> find = mock(FindIterable.class);
+    private final OrderQueryPlanAdvisor advisor = new OrderQueryPlanAdvisor(mongoTemplate, orderMongoAdapter, meterRegistry);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        when(orderMongoAdapter.toMongoQuery(any())).thenReturn(new Query());
+        when(mongoTemplate.getCollectionName(OrderDocument.class)).thenReturn("orders");
+        when(mongoTemplate.getCollection("orders")).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.sort(any())).thenReturn(find);
+        when(find.limit(anyInt())).thenReturn(find);
+    }
+
+    @Test
+    void shouldNotFlagIndexScansThatProvideTheSort() {
+        when(find.explain()).thenReturn(explain(stage("LIMIT", stage("FETCH", stage("IXSCAN", null)))));
+
+        List<OrderQueryPlanAdvisor.QueryPlanReport> reports = advisor.analyze();
+
+        assertEquals(64, reports.size());
+        assertEquals(List.of("LIMIT", "FETCH", "IXSCAN"), reports.get(0).stages());
+        assertFalse(reports.stream().anyMatch(OrderQueryPlanAdvisor.QueryPlanReport::flagged));
+        assertEquals(0.0, shapes("collscan"));
+        assertEquals(0.0, shapes("in_memory_sort"));
+    }
+
+    @Test
+    void shouldFlagCollectionScansAndBlockingSorts() {
+        when(find.explain()).thenReturn(explain(stage("SORT", stage("COLLSCAN", null))));
+
+        OrderQueryPlanAdvisor.QueryPlanReport report = advisor.analyze().get(0);
+
+        assertEquals("all|sort=updatedAt|offset", report.shape());
+        assertTrue(report.collectionScan());
+        assertTrue(report.inMemorySort());
+        assertEquals("collscan+in_memory_sort", report.issue());
+        assertEquals(64.0, shapes("collscan"));
+        assertEquals(64.0, shapes("in_memory_sort"));
+    }
+
+    @Test
+    void shouldFindStagesNestedUnderInputStages() {
+        Document or = new Document("stage", "OR")
+                .append("inputStages", List.of(stage("IXSCAN", null), stage("IXSCAN", null)));
+        when(find.explain()).thenReturn(explain(stage("SORT", stage("FETCH", or))));
+
+        OrderQueryPlanAdvisor.QueryPlanReport report = advisor.analyze().get(0);
+
+        assertEquals(List.of("SORT", "FETCH", "OR", "IXSCAN"), report.stages());
+        assertFalse(report.collectionScan());
+        assertEquals("in_memory_sort", report.issue());
+    }
+
+    private Document explain(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+
+    private Document stage(String name, Document inputStage) {
+        Document stage = new Document("stage", name);
+        return inputStage == null ? stage : stage.append("inputStage", inputStage);
+    }
+
+    private double shapes(String issue) {
+        return meterRegistry.get("order.mongo.query.plan.shapes").tag("issue", issue).gauge().value();
+    }
+}
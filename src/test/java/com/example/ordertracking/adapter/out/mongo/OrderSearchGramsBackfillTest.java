@@ -0,0 +1,48 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderSearchGramsBackfillTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final OrderSearchGramsBackfill backfill = new OrderSearchGramsBackfill(mongoTemplate);
+
+    @Test
+    void shouldReportCompletionOnlyOnceEveryOrderCarriesItsGrams() {
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(OrderDocument.class))).thenReturn(bulk);
+        when(mongoTemplate.stream(any(Query.class), eq(OrderDocument.class)))
+                .thenReturn(Stream.of(OrderDocument.builder().id("o-1").customerId("c-1").build()));
+
+        assertFalse(backfill.completed());
+        backfill.backfill();
+
+        verify(bulk).updateOne(any(Query.class), any(Update.class));
+        verify(bulk).execute();
+        assertTrue(backfill.completed());
+    }
+
+    @Test
+    void shouldStayIncompleteWhenTheBackfillFails() {
+        when(mongoTemplate.stream(any(Query.class), eq(OrderDocument.class))).thenThrow(new IllegalStateException("down"));
+
+        assertThrows(IllegalStateException.class, backfill::backfill);
+
+        assertFalse(backfill.completed());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ordertracking.adapter.out.mongo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderSearchGramsTest {
+
+    @Test
+    void everyCaseInsensitiveSubstringShouldResolveToIndexedGrams() {
+        String orderId = "ORD-2024-Ab7";
+        List<String> indexed = OrderSearchGrams.of(orderId, "Cust-42");
+
+        for (int start = 0; start < orderId.length(); start++) {
+            for (int end = start + 1; end <= orderId.length(); end++) {
+                String term = orderId.substring(start, end);
+                assertTrue(indexed.containsAll(OrderSearchGrams.forOrderIdContains(term.toUpperCase())), term);
+                assertTrue(indexed.containsAll(OrderSearchGrams.forOrderIdContains(term.toLowerCase())), term);
+            }
+        }
+        assertTrue(indexed.containsAll(OrderSearchGrams.forCustomerIdContains("ST-4")));
+    }
+
+    @Test
+    void shouldKeepOrderAndCustomerGramsApart() {
+        List<String> indexed = OrderSearchGrams.of("o-1", "c-42");
+
+        assertFalse(indexed.containsAll(OrderSearchGrams.forOrderIdContains("42")));
+        assertEquals(List.of("c:c-4", "c:-42"), OrderSearchGrams.forCustomerIdContains("C-42"));
+    }
+}
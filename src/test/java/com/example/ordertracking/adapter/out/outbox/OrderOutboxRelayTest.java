@@ -0,0 +1,80 @@
+package com.example.ordertracking.adapter.out.outbox;
+
+import com.example.ordertracking.adapter.out.kafka.KafkaOrderEventPublisher;
+import com.example.ordertracking.adapter.out.mongo.OrderOutboxStore;
+import com.example.ordertracking.adapter.out.mongo.PendingOutboxEvent;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderOutboxRelayTest {
+
+    private final OrderOutboxStore outboxStore = mock(OrderOutboxStore.class);
+    private final KafkaOrderEventPublisher publisher = mock(KafkaOrderEventPublisher.class);
+    private final OrderOutboxRelay relay =
+            new OrderOutboxRelay(outboxStore, publisher, new SimpleMeterRegistry(), 100, Duration.ofSeconds(30));
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldDrainOnlyItsShareOfPartitionsAndMarkEventsSentAfterPublishing() {
+        when(outboxStore.partitions()).thenReturn(4);
+        when(outboxStore.activeRelays(any(Instant.class))).thenReturn(2L);
+        when(outboxStore.leasedByOthers(anyString(), any(Instant.class))).thenReturn(Set.of(0, 1));
+        when(outboxStore.acquireLease(anyInt(), anyString(), any(Instant.class), any(Duration.class))).thenReturn(true);
+        when(outboxStore.oldestPending(anyInt())).thenReturn(Optional.empty());
+        List<PendingOutboxEvent> pending = List.of(
+                new PendingOutboxEvent("e-1", "o-1", "c-1", OrderStatus.PACKED, Instant.now()),
+                new PendingOutboxEvent("e-2", "o-1", "c-1", OrderStatus.SHIPPED, Instant.now()));
+        when(outboxStore.pendingEvents(eq(2), anyInt())).thenReturn(pending);
+        when(outboxStore.pendingEvents(eq(3), anyInt())).thenReturn(List.of());
+
+        relay.relay();
+
+        verify(outboxStore, never()).pendingEvents(eq(0), anyInt());
+        verify(outboxStore, never()).pendingEvents(eq(1), anyInt());
+        ArgumentCaptor<List<Order>> published = ArgumentCaptor.forClass(List.class);
+        verify(publisher).publishStatusChanged(published.capture());
+        assertEquals(List.of(OrderStatus.PACKED, OrderStatus.SHIPPED), published.getValue().stream().map(Order::status).toList());
+        verify(outboxStore).markSent(pending);
+    }
+
+    @Test
+    void shouldStopDrainingAPartitionOnceItsLeaseIsLost() {
+        when(outboxStore.partitions()).thenReturn(1);
+        when(outboxStore.activeRelays(any(Instant.class))).thenReturn(1L);
+        when(outboxStore.leasedByOthers(anyString(), any(Instant.class))).thenReturn(Set.of());
+        when(outboxStore.acquireLease(eq(0), anyString(), any(Instant.class), any(Duration.class))).thenReturn(true, true, false);
+        when(outboxStore.oldestPending(anyInt())).thenReturn(Optional.empty());
+        List<PendingOutboxEvent> fullBatch = IntStream.range(0, 100)
+                .mapToObj(i -> new PendingOutboxEvent("e-" + i, "o-" + i, "c-1", OrderStatus.PACKED, Instant.now()))
+                .toList();
+        when(outboxStore.pendingEvents(eq(0), anyInt())).thenReturn(fullBatch);
+
+        relay.relay();
+
+        verify(outboxStore, times(1)).pendingEvents(eq(0), anyInt());
+        verify(outboxStore, times(1)).markSent(fullBatch);
+        relay.relay();
+        verify(outboxStore, times(1)).markSent(fullBatch);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ordertracking.application;
+
+import com.example.ordertracking.application.port.out.LoadOrderStatsPort;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
+import com.example.ordertracking.application.service.OrderStatsService;
+import com.example.ordertracking.domain.model.OrderStats;
+import com.example.ordertracking.domain.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatsServiceTest {
+
+    @Mock
+    private LoadOrderStatsPort loadOrderStatsPort;
+    @Mock
+    private RecordOrderStatsPort recordOrderStatsPort;
+
+    @Test
+    void reconciliationShouldIncrementCountersByTheDriftOnly() {
+        OrderStatsService service = new OrderStatsService(loadOrderStatsPort, recordOrderStatsPort);
+        Map<OrderStatus, Long> actual = Map.of(OrderStatus.CREATED, 4L, OrderStatus.PACKED, 2L);
+        when(recordOrderStatsPort.claimReconciliation(ArgumentMatchers.any(Instant.class))).thenReturn(true);
+        when(loadOrderStatsPort.loadStats(ArgumentMatchers.any(Instant.class))).thenReturn(new OrderStats(
+                Map.of(OrderStatus.CREATED, 5L, OrderStatus.PACKED, 2L, OrderStatus.SHIPPED, 1L), List.of(), null));
+        when(loadOrderStatsPort.countOrdersByStatus()).thenReturn(actual);
+
+        Optional<Map<OrderStatus, Long>> drift = service.reconcileStats();
+
+        Map<OrderStatus, Long> expected = Map.of(OrderStatus.CREATED, -1L, OrderStatus.SHIPPED, -1L);
+        assertEquals(Optional.of(expected), drift);
+        verify(recordOrderStatsPort).adjustStatusCounts(eq(expected), ArgumentMatchers.any(Instant.class));
+    }
+
+    @Test
+    void reconciliationShouldBeSkippedWhileAnotherInstanceHoldsTheLease() {
+        OrderStatsService service = new OrderStatsService(loadOrderStatsPort, recordOrderStatsPort);
+        when(recordOrderStatsPort.claimReconciliation(ArgumentMatchers.any(Instant.class))).thenReturn(false);
+
+        assertEquals(Optional.empty(), service.reconcileStats());
+        verify(loadOrderStatsPort, never()).countOrdersByStatus();
+        verify(recordOrderStatsPort, never()).adjustStatusCounts(ArgumentMatchers.anyMap(), ArgumentMatchers.any(Instant.class));
+    }
+}
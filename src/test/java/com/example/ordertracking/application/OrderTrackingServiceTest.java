@@ -1,16 +1,28 @@
 package com.example.ordertracking.application;
 
+import com.example.ordertracking.application.port.out.LoadOrderHistoryPort;
+import com.example.ordertracking.application.port.in.OrderStatusUpdateResult;
+import com.example.ordertracking.application.port.in.UpdateOrderStatusCommand;
 import com.example.ordertracking.application.port.out.LoadOrderPort;
+import com.example.ordertracking.application.port.out.LoadOrderRevisionPort;
+import com.example.ordertracking.application.port.out.LoadOrderSummariesPort;
 import com.example.ordertracking.application.port.out.LoadStaleOrdersPort;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
 import com.example.ordertracking.application.port.out.PublishOrderEventPort;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
 import com.example.ordertracking.application.port.out.SaveOrderPort;
 import com.example.ordertracking.application.port.out.SearchOrdersPort;
+import com.example.ordertracking.application.port.out.TransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
 import com.example.ordertracking.application.service.OrderTrackingService;
 import com.example.ordertracking.domain.model.Order;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.example.ordertracking.domain.model.TrackingEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -18,13 +30,20 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
 class OrderTrackingServiceTest {
 
     @Mock
@@ -37,6 +56,16 @@ class OrderTrackingServiceTest {
     private LoadStaleOrdersPort loadStaleOrdersPort;
     @Mock
     private SearchOrdersPort searchOrdersPort;
+    @Mock
+    private TransitionOrderStatusPort transitionOrderStatusPort;
+    @Mock
+    private LoadOrderHistoryPort loadOrderHistoryPort;
+    @Mock
+    private LoadOrderSummariesPort loadOrderSummariesPort;
+    @Mock
+    private LoadOrderRevisionPort loadOrderRevisionPort;
+    @Mock
+    private RecordOrderStatsPort recordOrderStatsPort;
 
     private OrderTrackingService service;
 
@@ -47,7 +76,12 @@ class OrderTrackingServiceTest {
                 saveOrderPort,
                 publishOrderEventPort,
                 loadStaleOrdersPort,
-                searchOrdersPort
+                searchOrdersPort,
+                transitionOrderStatusPort,
+                loadOrderHistoryPort,
+                loadOrderSummariesPort,
+                loadOrderRevisionPort,
+                recordOrderStatsPort
         );
     }
 
@@ -68,28 +102,138 @@ class OrderTrackingServiceTest {
     @Test
     void shouldUpdateStatusAndPublish() {
         Order order = Order.create("o-123", "c-9");
-        when(loadOrderPort.findById("o-123")).thenReturn(Optional.of(order));
-        when(saveOrderPort.save(ArgumentMatchers.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        order.transitionTo(OrderStatus.PACKED, Instant.now(), "warehouse packed");
+        when(transitionOrderStatusPort.transition(eq("o-123"), eq(OrderStatus.PACKED), ArgumentMatchers.any(Instant.class), eq("warehouse packed")))
+                .thenReturn(Optional.of(new TransitionedOrder(order, OrderStatus.CREATED)));
 
         Order updated = service.updateStatus("o-123", OrderStatus.PACKED, "warehouse packed");
 
         assertEquals(OrderStatus.PACKED, updated.status());
         verify(publishOrderEventPort, times(1)).publishStatusChanged(updated);
+        verifyNoInteractions(loadOrderPort, saveOrderPort);
+    }
+
+    @Test
+    void shouldCountTransitionsFromTheStatusTheConditionalUpdateMatched() {
+        // A trimmed history no longer shows the status the order left, only the conditional update knows it.
+        Order order = Order.of("o-125", "c-9", OrderStatus.CANCELLED, Instant.now(), Instant.now(),
+                List.of(new TrackingEvent("o-125", OrderStatus.CANCELLED.name(), Instant.now(), "customer cancelled")));
+        when(transitionOrderStatusPort.transition(eq("o-125"), eq(OrderStatus.CANCELLED), ArgumentMatchers.any(Instant.class), eq("customer cancelled")))
+                .thenReturn(Optional.of(new TransitionedOrder(order, OrderStatus.PACKED)));
+
+        service.updateStatus("o-125", OrderStatus.CANCELLED, "customer cancelled");
+
+        ArgumentCaptor<List<OrderStatusTransition>> recorded = ArgumentCaptor.forClass(List.class);
+        verify(recordOrderStatsPort).recordTransitions(recorded.capture());
+        OrderStatusTransition transition = recorded.getValue().getFirst();
+        assertEquals(OrderStatus.PACKED, transition.from());
+        assertEquals(OrderStatus.CANCELLED, transition.to());
+    }
+
+    @Test
+    void shouldReportInvalidTransitionWhenConditionalUpdateDoesNotMatch() {
+        when(transitionOrderStatusPort.transition(eq("o-124"), eq(OrderStatus.DELIVERED), ArgumentMatchers.any(Instant.class), eq("too early")))
+                .thenReturn(Optional.empty());
+        when(loadOrderPort.findById("o-124")).thenReturn(Optional.of(Order.create("o-124", "c-9")));
+
+        IllegalStateException ex = org.junit.jupiter.api.Assertions.assertThrows(
+                IllegalStateException.class,
+                () -> service.updateStatus("o-124", OrderStatus.DELIVERED, "too early")
+        );
+
+        assertEquals("Invalid transition from CREATED to DELIVERED", ex.getMessage());
+        verify(publishOrderEventPort, never()).publishStatusChanged(ArgumentMatchers.any(Order.class));
+    }
+
+    @Test
+    void shouldRejectBeforeWritingWhenTheEventCannotBeTaken() {
+        doThrow(new RejectedExecutionException("saturated")).when(publishOrderEventPort).ensureCapacity(1);
+
+        org.junit.jupiter.api.Assertions.assertThrows(
+                RejectedExecutionException.class,
+                () -> service.updateStatus("o-125", OrderStatus.PACKED, "packed")
+        );
+
+        verifyNoInteractions(transitionOrderStatusPort, recordOrderStatsPort);
     }
 
     @Test
-    void batchShouldCompleteStaleShippedOrders() {
-        Order stale = Order.create("o-999", "c-2");
-        stale.transitionTo(OrderStatus.PACKED, Instant.now().minusSeconds(10000), "Packed");
-        stale.transitionTo(OrderStatus.SHIPPED, Instant.now().minusSeconds(9000), "Shipped");
+    void batchShouldCompleteStaleShippedOrdersChunkByChunk() {
+        List<OrderSummary> stale = List.of(shipped("o-997"), shipped("o-998"), shipped("o-999"));
+        when(loadStaleOrdersPort.streamShippedBefore(ArgumentMatchers.any(Instant.class))).thenReturn(stale.stream());
+        when(transitionOrderStatusPort.transitionAll(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        int processed = service.autoCompleteDeliveredForStaleShippedOrders(2);
+
+        assertEquals(3, processed);
+        ArgumentCaptor<List<OrderStatusTransition>> transitions = ArgumentCaptor.forClass(List.class);
+        verify(transitionOrderStatusPort, times(2)).transitionAll(transitions.capture());
+        assertEquals(List.of(2, 1), transitions.getAllValues().stream().map(List::size).toList());
+        ArgumentCaptor<List<Order>> published = ArgumentCaptor.forClass(List.class);
+        verify(publishOrderEventPort, times(2)).publishStatusChanged(published.capture());
+        assertEquals(OrderStatus.DELIVERED, published.getValue().getFirst().status());
+        verifyNoInteractions(saveOrderPort);
+    }
 
-        when(loadStaleOrdersPort.findShippedBefore(ArgumentMatchers.any(Instant.class))).thenReturn(List.of(stale));
-        when(saveOrderPort.save(ArgumentMatchers.any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    @Test
+    void batchShouldOnlyPublishTransitionsThatWereApplied() {
+        List<OrderSummary> stale = List.of(shipped("o-1001"), shipped("o-1002"));
+        when(loadStaleOrdersPort.streamShippedBefore(ArgumentMatchers.any(Instant.class))).thenReturn(stale.stream());
+        when(transitionOrderStatusPort.transitionAll(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> List.of(invocation.<List<OrderStatusTransition>>getArgument(0).getLast()));
 
-        int processed = service.autoCompleteDeliveredForStaleShippedOrders();
+        int processed = service.autoCompleteDeliveredForStaleShippedOrders(10);
 
         assertEquals(1, processed);
-        assertEquals(OrderStatus.DELIVERED, stale.status());
-        verify(publishOrderEventPort).publishStatusChanged(stale);
+        ArgumentCaptor<List<Order>> published = ArgumentCaptor.forClass(List.class);
+        verify(publishOrderEventPort).publishStatusChanged(published.capture());
+        assertEquals(List.of("o-1002"), published.getValue().stream().map(Order::id).toList());
+    }
+
+    @Test
+    void batchStatusUpdateShouldReportOutcomePerItemAndChainRepeatedOrders() {
+        Instant createdAt = Instant.now().minusSeconds(600);
+        when(loadOrderSummariesPort.findSummariesByIds(ArgumentMatchers.anyCollection())).thenReturn(List.of(
+                new OrderSummary("o-2001", "c-3", OrderStatus.CREATED, createdAt, createdAt),
+                new OrderSummary("o-2002", "c-3", OrderStatus.CREATED, createdAt, createdAt)));
+        when(transitionOrderStatusPort.transitionAll(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<OrderStatusUpdateResult> results = service.updateStatuses(List.of(
+                new UpdateOrderStatusCommand("o-2001", OrderStatus.PACKED, "scan 1"),
+                new UpdateOrderStatusCommand("o-2002", OrderStatus.DELIVERED, "scan 2"),
+                new UpdateOrderStatusCommand("o-2003", OrderStatus.PACKED, "scan 3"),
+                new UpdateOrderStatusCommand("o-2001", OrderStatus.SHIPPED, "scan 4")));
+
+        assertEquals(List.of(OrderStatusUpdateResult.Outcome.APPLIED, OrderStatusUpdateResult.Outcome.INVALID_TRANSITION,
+                        OrderStatusUpdateResult.Outcome.NOT_FOUND, OrderStatusUpdateResult.Outcome.APPLIED),
+                results.stream().map(OrderStatusUpdateResult::outcome).toList());
+        ArgumentCaptor<List<OrderStatusTransition>> transitions = ArgumentCaptor.forClass(List.class);
+        verify(transitionOrderStatusPort).transitionAll(transitions.capture());
+        assertEquals(List.of(OrderStatus.CREATED, OrderStatus.PACKED),
+                transitions.getValue().stream().map(OrderStatusTransition::from).toList());
+        ArgumentCaptor<List<Order>> published = ArgumentCaptor.forClass(List.class);
+        verify(publishOrderEventPort).publishStatusChanged(published.capture());
+        assertEquals(List.of(OrderStatus.PACKED, OrderStatus.SHIPPED), published.getValue().stream().map(Order::status).toList());
+    }
+
+    @Test
+    void failuresAfterTheBulkWriteShouldNotFailTheBatch() {
+        when(loadOrderSummariesPort.findSummariesByIds(ArgumentMatchers.anyCollection())).thenReturn(List.of(shipped("o-3001")));
+        when(transitionOrderStatusPort.transitionAll(ArgumentMatchers.anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        doThrow(new CompletionException(new IllegalStateException("broker unavailable")))
+                .when(publishOrderEventPort).publishStatusChanged(ArgumentMatchers.<List<Order>>any());
+        doThrow(new IllegalStateException("stats store unavailable")).when(recordOrderStatsPort).recordTransitions(ArgumentMatchers.anyList());
+
+        List<OrderStatusUpdateResult> results = service.updateStatuses(List.of(
+                new UpdateOrderStatusCommand("o-3001", OrderStatus.DELIVERED, "scan")));
+
+        assertEquals(List.of(OrderStatusUpdateResult.Outcome.APPLIED), results.stream().map(OrderStatusUpdateResult::outcome).toList());
+    }
+
+    private OrderSummary shipped(String orderId) {
+        Instant shippedAt = Instant.now().minusSeconds(9000);
+        return new OrderSummary(orderId, "c-2", OrderStatus.SHIPPED, shippedAt.minusSeconds(1000), shippedAt);
     }
 }
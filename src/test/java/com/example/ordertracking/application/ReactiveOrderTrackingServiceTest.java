@@ -0,0 +1,115 @@
+package com.example.ordertracking.application;
+
+import com.example.ordertracking.application.port.out.ReactiveLoadOrderPort;
+import com.example.ordertracking.application.port.out.ReactivePublishOrderEventPort;
+import com.example.ordertracking.application.port.out.ReactiveSaveOrderPort;
+import com.example.ordertracking.application.port.out.ReactiveSearchOrdersPort;
+import com.example.ordertracking.application.port.out.ReactiveTransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
+import com.example.ordertracking.application.service.ReactiveOrderTrackingService;
+import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveOrderTrackingServiceTest {
+
+    @Mock
+    private ReactiveLoadOrderPort loadOrderPort;
+    @Mock
+    private ReactiveSaveOrderPort saveOrderPort;
+    @Mock
+    private ReactiveTransitionOrderStatusPort transitionOrderStatusPort;
+    @Mock
+    private ReactiveSearchOrdersPort searchOrdersPort;
+    @Mock
+    private ReactivePublishOrderEventPort publishOrderEventPort;
+    @Mock
+    private RecordOrderStatsPort recordOrderStatsPort;
+
+    private ReactiveOrderTrackingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ReactiveOrderTrackingService(loadOrderPort, saveOrderPort, transitionOrderStatusPort, searchOrdersPort,
+                publishOrderEventPort, recordOrderStatsPort);
+    }
+
+    @Test
+    void shouldRejectDuplicateOrderRegistration() {
+        when(saveOrderPort.insert(ArgumentMatchers.any(Order.class))).thenReturn(Mono.empty());
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> service.register("o-dup", "c-1").block());
+
+        assertEquals("Order already exists: o-dup", ex.getMessage());
+        verify(publishOrderEventPort, never()).publishStatusChanged(any());
+    }
+
+    @Test
+    void shouldUpdateStatusAndPublish() {
+        Order order = Order.create("o-123", "c-9");
+        order.transitionTo(OrderStatus.PACKED, Instant.now(), "warehouse packed");
+        when(transitionOrderStatusPort.transition(eq("o-123"), eq(OrderStatus.PACKED), ArgumentMatchers.any(Instant.class), eq("warehouse packed")))
+                .thenReturn(Mono.just(new TransitionedOrder(order, OrderStatus.CREATED)));
+        when(publishOrderEventPort.publishStatusChanged(order)).thenReturn(Mono.empty());
+
+        Order updated = service.updateStatus("o-123", OrderStatus.PACKED, "warehouse packed").block();
+
+        assertEquals(OrderStatus.PACKED, updated.status());
+        verify(publishOrderEventPort).publishStatusChanged(order);
+    }
+
+    @Test
+    void aFailedPublishShouldNotFailTheCommittedTransition() {
+        Order order = Order.create("o-126", "c-9");
+        order.transitionTo(OrderStatus.PACKED, Instant.now(), "warehouse packed");
+        when(transitionOrderStatusPort.transition(eq("o-126"), eq(OrderStatus.PACKED), ArgumentMatchers.any(Instant.class), eq("warehouse packed")))
+                .thenReturn(Mono.just(new TransitionedOrder(order, OrderStatus.CREATED)));
+        when(publishOrderEventPort.publishStatusChanged(order)).thenReturn(Mono.error(new IllegalStateException("broker down")));
+
+        Order updated = service.updateStatus("o-126", OrderStatus.PACKED, "warehouse packed").block();
+
+        assertEquals(OrderStatus.PACKED, updated.status());
+        verify(recordOrderStatsPort).recordTransitions(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    void shouldReportInvalidTransitionLikeTheBlockingService() {
+        when(transitionOrderStatusPort.transition(eq("o-124"), eq(OrderStatus.DELIVERED), ArgumentMatchers.any(Instant.class), eq("too early")))
+                .thenReturn(Mono.empty());
+        when(loadOrderPort.findById("o-124")).thenReturn(Mono.just(Order.create("o-124", "c-9")));
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> service.updateStatus("o-124", OrderStatus.DELIVERED, "too early").block());
+
+        assertEquals("Invalid transition from CREATED to DELIVERED", ex.getMessage());
+        verify(publishOrderEventPort, never()).publishStatusChanged(any());
+    }
+
+    @Test
+    void unknownOrderShouldBeNotFound() {
+        when(loadOrderPort.findById("missing")).thenReturn(Mono.empty());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> service.getById("missing").block());
+
+        assertEquals("Order not found: missing", ex.getMessage());
+    }
+}
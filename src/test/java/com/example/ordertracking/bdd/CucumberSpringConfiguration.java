@@ -12,9 +12,12 @@ import org.springframework.boot.test.context.SpringBootTest;
                 "app.security.user.name=api-user",
                 "app.security.user.password=change-me",
                 "spring.main.allow-bean-definition-overriding=true",
+                "app.mongo.indexes.bootstrap=false",
                 "spring.autoconfigure.exclude=org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration,"
                         + "org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration,"
-                        + "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration"
+                        + "org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration"
         }
 )
 public class CucumberSpringConfiguration {
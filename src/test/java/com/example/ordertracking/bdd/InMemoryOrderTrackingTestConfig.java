@@ -1,14 +1,27 @@
 package com.example.ordertracking.bdd;
 
+import com.example.ordertracking.application.port.out.LoadOrderHistoryPort;
 import com.example.ordertracking.application.port.out.LoadOrderPort;
+import com.example.ordertracking.application.port.out.LoadOrderRevisionPort;
+import com.example.ordertracking.application.port.out.LoadOrderStatsPort;
+import com.example.ordertracking.application.port.out.LoadOrderSummariesPort;
 import com.example.ordertracking.application.port.out.LoadStaleOrdersPort;
+import com.example.ordertracking.application.port.out.OrderSearchCursor;
 import com.example.ordertracking.application.port.out.OrderSearchQuery;
+import com.example.ordertracking.application.port.out.OrderStatusTransition;
 import com.example.ordertracking.application.port.out.PublishOrderEventPort;
+import com.example.ordertracking.application.port.out.RecordOrderStatsPort;
 import com.example.ordertracking.application.port.out.SaveOrderPort;
 import com.example.ordertracking.application.port.out.SearchOrdersPort;
+import com.example.ordertracking.application.port.out.TransitionOrderStatusPort;
+import com.example.ordertracking.application.port.out.TransitionedOrder;
 import com.example.ordertracking.adapter.out.mongo.SpringDataOrderRepository;
 import com.example.ordertracking.domain.model.Order;
+import com.example.ordertracking.domain.model.OrderRevision;
+import com.example.ordertracking.domain.model.OrderStats;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderSummary;
+import com.example.ordertracking.domain.model.TrackingEvent;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -16,11 +29,14 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.mockito.Mockito.mock;
 
@@ -39,6 +55,12 @@ public class InMemoryOrderTrackingTestConfig {
         return new RecordingOrderEventPublisher();
     }
 
+    @Bean
+    @Primary
+    InMemoryOrderStats inMemoryOrderStats() {
+        return new InMemoryOrderStats();
+    }
+
     @Bean
     SpringDataOrderRepository springDataOrderRepository() {
         return mock(SpringDataOrderRepository.class);
@@ -49,7 +71,8 @@ public class InMemoryOrderTrackingTestConfig {
         return mock(MongoTemplate.class);
     }
 
-    public static class InMemoryOrderStore implements LoadOrderPort, SaveOrderPort, LoadStaleOrdersPort, SearchOrdersPort {
+    public static class InMemoryOrderStore implements LoadOrderPort, SaveOrderPort, TransitionOrderStatusPort, LoadStaleOrdersPort, SearchOrdersPort,
+            LoadOrderHistoryPort, LoadOrderSummariesPort, LoadOrderRevisionPort {
         private final Map<String, Order> orders = new LinkedHashMap<>();
 
         void clear() {
@@ -61,6 +84,11 @@ public class InMemoryOrderTrackingTestConfig {
             return Optional.ofNullable(orders.get(orderId));
         }
 
+        @Override
+        public Optional<OrderRevision> findRevision(String orderId) {
+            return findById(orderId).map(Order::revision);
+        }
+
         @Override
         public Order save(Order order) {
             orders.put(order.id(), order);
@@ -68,27 +96,98 @@ public class InMemoryOrderTrackingTestConfig {
         }
 
         @Override
-        public List<Order> findShippedBefore(Instant before) {
+        public List<Order> insertAll(List<Order> newOrders) {
+            return newOrders.stream()
+                    .filter(order -> orders.putIfAbsent(order.id(), order) == null)
+                    .toList();
+        }
+
+        @Override
+        public Optional<TransitionedOrder> transition(String orderId, OrderStatus target, Instant at, String note) {
+            Order order = orders.get(orderId);
+            if (order == null || !order.status().canTransitionTo(target)) {
+                return Optional.empty();
+            }
+            OrderStatus from = order.status();
+            order.transitionTo(target, at, note);
+            return Optional.of(new TransitionedOrder(order, from));
+        }
+
+        @Override
+        public List<OrderStatusTransition> transitionAll(List<OrderStatusTransition> transitions) {
+            return transitions.stream()
+                    .filter(transition -> findById(transition.orderId())
+                            .filter(order -> order.status() == transition.from())
+                            .map(order -> {
+                                order.transitionTo(transition.to(), transition.at(), transition.note());
+                                return true;
+                            })
+                            .orElse(false))
+                    .toList();
+        }
+
+        @Override
+        public Stream<OrderSummary> streamShippedBefore(Instant before) {
             return orders.values().stream()
                     .filter(order -> order.status() == OrderStatus.SHIPPED)
                     .filter(order -> order.updatedAt().isBefore(before))
-                    .toList();
+                    .map(Order::summary)
+                    .toList()
+                    .stream();
         }
 
         @Override
         public List<Order> findAll(OrderSearchQuery query) {
-            List<Order> filtered = orders.values().stream()
+            List<Order> filtered = matching(query).toList();
+
+            if (query.cursor() != null) {
+                OrderSearchCursor cursor = OrderSearchCursor.decode(query);
+                Order marker = Order.builder().id(cursor.id()).createdAt(cursor.sortValue()).updatedAt(cursor.sortValue()).build();
+                return filtered.stream()
+                        .filter(order -> sort(query).compare(order, marker) > 0)
+                        .limit(query.size())
+                        .toList();
+            }
+            int from = Math.min(query.page() * query.size(), filtered.size());
+            int to = Math.min(from + query.size(), filtered.size());
+            return filtered.subList(from, to);
+        }
+
+        @Override
+        public List<OrderSummary> findSummariesByIds(Collection<String> orderIds) {
+            return orderIds.stream()
+                    .map(orders::get)
+                    .filter(order -> order != null)
+                    .map(Order::summary)
+                    .toList();
+        }
+
+        @Override
+        public List<OrderSummary> findSummaries(OrderSearchQuery query) {
+            return findAll(query).stream().map(Order::summary).toList();
+        }
+
+        @Override
+        public Stream<OrderSummary> streamSummaries(OrderSearchQuery query) {
+            return matching(query).map(Order::summary).toList().stream();
+        }
+
+        private Stream<Order> matching(OrderSearchQuery query) {
+            return orders.values().stream()
                     .filter(order -> contains(order.id(), query.orderIdContains()))
                     .filter(order -> contains(order.customerId(), query.customerIdContains()))
                     .filter(order -> query.status() == null || order.status().name().equals(query.status()))
                     .filter(order -> query.updatedFrom() == null || !order.updatedAt().isBefore(query.updatedFrom()))
                     .filter(order -> query.updatedTo() == null || !order.updatedAt().isAfter(query.updatedTo()))
-                    .sorted(sort(query))
-                    .toList();
+                    .sorted(sort(query));
+        }
 
-            int from = Math.min(query.page() * query.size(), filtered.size());
-            int to = Math.min(from + query.size(), filtered.size());
-            return filtered.subList(from, to);
+        @Override
+        public Optional<List<TrackingEvent>> findHistory(String orderId, int page, int size) {
+            return findById(orderId).map(order -> order.history().stream()
+                    .skip((long) page * size)
+                    .limit(size)
+                    .toList());
         }
 
         private boolean contains(String value, String expected) {
@@ -96,14 +195,53 @@ public class InMemoryOrderTrackingTestConfig {
         }
 
         private Comparator<Order> sort(OrderSearchQuery query) {
-            Comparator<Order> comparator = "createdAt".equals(query.sortBy())
+            Comparator<Order> comparator = ("createdAt".equals(query.sortField())
                     ? Comparator.comparing(Order::createdAt)
-                    : Comparator.comparing(Order::updatedAt);
+                    : Comparator.comparing(Order::updatedAt))
+                    .thenComparing(Order::id);
 
             return "asc".equalsIgnoreCase(query.sortDir()) ? comparator : comparator.reversed();
         }
     }
 
+    public static class InMemoryOrderStats implements RecordOrderStatsPort, LoadOrderStatsPort {
+        private final Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+
+        void clear() {
+            counts.clear();
+        }
+
+        @Override
+        public synchronized void recordTransitions(List<OrderStatusTransition> transitions) {
+            for (OrderStatusTransition transition : transitions) {
+                if (transition.from() != null) {
+                    counts.merge(transition.from(), -1L, Long::sum);
+                }
+                counts.merge(transition.to(), 1L, Long::sum);
+            }
+        }
+
+        @Override
+        public boolean claimReconciliation(Instant now) {
+            return true;
+        }
+
+        @Override
+        public synchronized void adjustStatusCounts(Map<OrderStatus, Long> deltas, Instant reconciledAt) {
+            deltas.forEach((status, delta) -> counts.merge(status, delta, Long::sum));
+        }
+
+        @Override
+        public synchronized OrderStats loadStats(Instant hourlySince) {
+            return new OrderStats(new EnumMap<>(counts), List.of(), null);
+        }
+
+        @Override
+        public Map<OrderStatus, Long> countOrdersByStatus() {
+            return Map.of();
+        }
+    }
+
     public static class RecordingOrderEventPublisher implements PublishOrderEventPort {
         private final List<Order> publishedOrders = new ArrayList<>();
 
@@ -25,6 +25,7 @@ public class OrderTrackingStepDefinitions {
     private final TestRestTemplate restTemplate;
     private final InMemoryOrderTrackingTestConfig.InMemoryOrderStore orderStore;
     private final InMemoryOrderTrackingTestConfig.RecordingOrderEventPublisher eventPublisher;
+    private final InMemoryOrderTrackingTestConfig.InMemoryOrderStats orderStats;
 
     private ResponseEntity<Map<String, Object>> response;
     private ResponseEntity<List<Map<String, Object>>> listResponse;
@@ -33,17 +34,20 @@ public class OrderTrackingStepDefinitions {
     public OrderTrackingStepDefinitions(
             TestRestTemplate restTemplate,
             InMemoryOrderTrackingTestConfig.InMemoryOrderStore orderStore,
-            InMemoryOrderTrackingTestConfig.RecordingOrderEventPublisher eventPublisher
+            InMemoryOrderTrackingTestConfig.RecordingOrderEventPublisher eventPublisher,
+            InMemoryOrderTrackingTestConfig.InMemoryOrderStats orderStats
     ) {
         this.restTemplate = restTemplate;
         this.orderStore = orderStore;
         this.eventPublisher = eventPublisher;
+        this.orderStats = orderStats;
     }
 
     @Before
     public void resetState() {
         orderStore.clear();
         eventPublisher.clear();
+        orderStats.clear();
         response = null;
         listResponse = null;
     }
@@ -79,6 +83,28 @@ public class OrderTrackingStepDefinitions {
         response = registerOrder(orderId, customerId);
     }
 
+    @When("I register orders in batch:")
+    public void iRegisterOrdersInBatch(DataTable table) {
+        listResponse = restTemplate.exchange(
+                "/api/orders/batch",
+                HttpMethod.POST,
+                new HttpEntity<>(Map.of("orders", table.asMaps()), authHeaders()),
+                new ParameterizedTypeReference<>() {
+                }
+        );
+    }
+
+    @When("I update order statuses in batch:")
+    public void iUpdateOrderStatusesInBatch(DataTable table) {
+        listResponse = restTemplate.exchange(
+                "/api/orders/batch/status",
+                HttpMethod.PUT,
+                new HttpEntity<>(Map.of("updates", table.asMaps()), authHeaders()),
+                new ParameterizedTypeReference<>() {
+                }
+        );
+    }
+
     @When("I track order {string}")
     public void iTrackOrder(String orderId) {
         response = exchange(HttpMethod.GET, "/api/orders/" + orderId, null);
@@ -102,6 +128,28 @@ public class OrderTrackingStepDefinitions {
         );
     }
 
+    @When("I list orders with page size {int}")
+    public void iListOrdersWithPageSize(int size) {
+        listResponse = listOrders("/api/orders?size={size}", size);
+    }
+
+    @When("I list the next page of orders with page size {int}")
+    public void iListTheNextPageOfOrdersWithPageSize(int size) {
+        String cursor = listResponse.getHeaders().getFirst("X-Next-Cursor");
+        assertThat(cursor).isNotBlank();
+        listResponse = listOrders("/api/orders?size={size}&cursor={cursor}", size, cursor);
+    }
+
+    @When("I request page {int} of the history of order {string} with page size {int}")
+    public void iRequestPageOfTheHistoryOfOrder(int page, String orderId, int size) {
+        listResponse = listOrders("/api/orders/{id}/history?page={page}&size={size}", orderId, page, size);
+    }
+
+    @When("I request the order stats")
+    public void iRequestTheOrderStats() {
+        response = exchange(HttpMethod.GET, "/api/orders/stats", null);
+    }
+
     @When("I track order {string} without credentials")
     public void iTrackOrderWithoutCredentials(String orderId) {
         response = restTemplate.exchange(
@@ -154,6 +202,37 @@ public class OrderTrackingStepDefinitions {
         }
     }
 
+    @Then("{int} orders are listed")
+    public void ordersAreListed(int count) {
+        assertThat(listResponse.getBody()).hasSize(count);
+    }
+
+    @Then("{int} history events are listed")
+    public void historyEventsAreListed(int count) {
+        assertThat(listResponse.getBody()).hasSize(count);
+    }
+
+    @Then("the batch outcomes are:")
+    public void theBatchOutcomesAre(DataTable table) {
+        List<Map<String, String>> expectedRows = table.asMaps();
+
+        assertThat(listResponse.getBody()).hasSize(expectedRows.size());
+        for (int i = 0; i < expectedRows.size(); i++) {
+            assertThat(listResponse.getBody().get(i))
+                    .containsEntry("orderId", expectedRows.get(i).get("orderId"))
+                    .containsEntry("outcome", expectedRows.get(i).get("outcome"));
+        }
+    }
+
+    @Then("the status counts are:")
+    @SuppressWarnings("unchecked")
+    public void theStatusCountsAre(DataTable table) {
+        Map<String, Object> counts = (Map<String, Object>) response.getBody().get("statusCounts");
+        for (Map<String, String> expected : table.asMaps()) {
+            assertThat(((Number) counts.get(expected.get("status"))).longValue()).isEqualTo(Long.parseLong(expected.get("count")));
+        }
+    }
+
     @Then("the problem title is {string}")
     public void theProblemTitleIs(String title) {
         assertThat(response.getBody()).containsEntry("title", title);
@@ -169,6 +248,17 @@ public class OrderTrackingStepDefinitions {
         assertThat(eventPublisher.publishedCount()).isPositive();
     }
 
+    private ResponseEntity<List<Map<String, Object>>> listOrders(String path, Object... uriVariables) {
+        return restTemplate.exchange(
+                path,
+                HttpMethod.GET,
+                new HttpEntity<Void>(authHeaders()),
+                new ParameterizedTypeReference<>() {
+                },
+                uriVariables
+        );
+    }
+
     private ResponseEntity<Map<String, Object>> registerOrder(String orderId, String customerId) {
         return exchange(HttpMethod.POST, "/api/orders", Map.of(
                 "orderId", orderId,
@@ -2,8 +2,11 @@ package com.example.ordertracking.domain;
 
 import com.example.ordertracking.domain.model.Order;
 import com.example.ordertracking.domain.model.OrderStatus;
+import com.example.ordertracking.domain.model.OrderStatusTransitions;
 import org.junit.jupiter.api.Test;
 
+import java.util.EnumSet;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -26,4 +29,16 @@ class OrderStatusTransitionsTest {
         assertThrows(IllegalStateException.class,
                 () -> order.transitionTo(OrderStatus.DELIVERED, order.updatedAt().plusSeconds(60), "Too early"));
     }
+
+    @Test
+    void shouldListAllowedSourcesOfTarget() {
+        assertEquals(EnumSet.of(OrderStatus.CREATED, OrderStatus.PACKED), OrderStatusTransitions.sourcesOf(OrderStatus.CANCELLED));
+        assertEquals(EnumSet.noneOf(OrderStatus.class), OrderStatusTransitions.sourcesOf(OrderStatus.CREATED));
+    }
+
+    @Test
+    void shouldTreatStatusesWithoutOutgoingTransitionsAsTerminal() {
+        assertEquals(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED),
+                EnumSet.copyOf(EnumSet.allOf(OrderStatus.class).stream().filter(OrderStatus::isTerminal).toList()));
+    }
 }
@@ -49,3 +49,81 @@ Feature: Order tracking API
       | o-5001  | c-6001     |
     When I track order "o-5001" without credentials
     Then the response status is 401
+
+  Scenario: Page through orders with a continuation cursor
+    Given an existing order:
+      | orderId | customerId |
+      | o-6001  | c-7001     |
+    Given an existing order:
+      | orderId | customerId |
+      | o-6002  | c-7002     |
+    Given an existing order:
+      | orderId | customerId |
+      | o-6003  | c-7003     |
+    When I list orders with page size 2
+    Then the response status is 200
+    And 2 orders are listed
+    When I list the next page of orders with page size 2
+    Then the response status is 200
+    And 1 orders are listed
+
+  Scenario: Page through the tracking history of an order
+    Given an existing order:
+      | orderId | customerId |
+      | o-7001  | c-8001     |
+    And order "o-7001" has status "SHIPPED"
+    When I request page 1 of the history of order "o-7001" with page size 2
+    Then the response status is 200
+    And 1 history events are listed
+
+  Scenario: Register orders in batch and report duplicates per item
+    Given an existing order:
+      | orderId | customerId |
+      | o-8001  | c-9001     |
+    When I register orders in batch:
+      | orderId | customerId |
+      | o-8001  | c-9001     |
+      | o-8002  | c-9002     |
+      | o-8002  | c-9002     |
+    Then the response status is 200
+    And the batch outcomes are:
+      | orderId | outcome   |
+      | o-8001  | DUPLICATE |
+      | o-8002  | CREATED   |
+      | o-8002  | DUPLICATE |
+    And a status change event was published
+
+  Scenario: Apply carrier scans in batch and report the outcome per item
+    Given an existing order:
+      | orderId | customerId |
+      | o-8101  | c-9101     |
+    When I update order statuses in batch:
+      | orderId | status    | note          |
+      | o-8101  | PACKED    | Packed        |
+      | o-8101  | SHIPPED   | Left the dock |
+      | o-8101  | CREATED   | Rescanned     |
+      | o-8199  | PACKED    | Unknown scan  |
+    Then the response status is 200
+    And the batch outcomes are:
+      | orderId | outcome            |
+      | o-8101  | APPLIED            |
+      | o-8101  | APPLIED            |
+      | o-8101  | INVALID_TRANSITION |
+      | o-8199  | NOT_FOUND          |
+    And a status change event was published
+
+  Scenario: Serve per-status counters for dashboards
+    Given an existing order:
+      | orderId | customerId |
+      | o-9001  | c-9901     |
+    And order "o-9001" has status "SHIPPED"
+    Given an existing order:
+      | orderId | customerId |
+      | o-9002  | c-9902     |
+    When I request the order stats
+    Then the response status is 200
+    And the status counts are:
+      | status  | count |
+      | CREATED | 1     |
+      | PACKED  | 0     |
+      | SHIPPED | 1     |